@@ -0,0 +1,33 @@
+package com.sissilab.dp.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Product: registers an `IProduct` implementation in the factories generated at compile time by `ProductProcessor`.
+ * <p>
+ * 1. without family: the product gets its own factory method `IFactory`, in `GeneratedFactories.factory(key)`
+ * 2. with a family: the product is made by the `make<Key>()` method of its family, in `GeneratedFamilies.family(family)`
+ * <p>
+ * Source retention: nothing is left at runtime, nothing is read by reflection.
+ * <p>
+ * Use it: `@Product(key = "phone", family = "Apple") public class ApplePhone extends AbstractPhone`
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Product {
+
+    /**
+     * Product key, unique per family (or among the products without family), e.g. "phone"
+     */
+    String key();
+
+    /**
+     * Abstract factory family, e.g. "Apple", empty for a factory method product
+     */
+    String family() default "";
+}
@@ -0,0 +1,377 @@
+package com.sissilab.dp.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Product Processor: generates the factories of the `@Product` classes at compile time.
+ * <p>
+ * The products are grouped by pattern: a product implementing `<base>.product.IProduct` is made by a factory
+ * implementing `<base>.factory.IFactory`, generated in the package `<base>.factory`:
+ * 1. products without family: `GeneratedFactories`, one factory method `IFactory` per key (`createProduct()`)
+ * 2. products with a family: `GeneratedFamilies`, one abstract factory `IFactory` per family, each `make<Key>()` method
+ * of `IFactory` making the product of that key in the family
+ * <p>
+ * The generated code only contains `new` and `switch` on string keys: no reflection, no classpath scanning,
+ * a factory costs the loading of one class.
+ * <p>
+ * Checked at compile time (errors reported on the product class):
+ * 1. the product is a public, concrete class with a public no-arg constructor, implementing an `IProduct`
+ * 2. the keys are unique per family, every `make<Key>()` method of a family has its product
+ */
+@SupportedAnnotationTypes("com.sissilab.dp.processor.Product")
+public class ProductProcessor extends AbstractProcessor {
+
+    static final String FACTORIES = "GeneratedFactories";
+
+    static final String FAMILIES = "GeneratedFamilies";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (annotations.isEmpty()) {
+            return false;
+        }
+        // base package -> key -> product, for the factory method products
+        Map<String, Map<String, TypeElement>> factories = new TreeMap<>();
+        // base package -> family -> key -> product, for the abstract factory products
+        Map<String, Map<String, Map<String, TypeElement>>> families = new TreeMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(Product.class)) {
+            TypeElement product = (TypeElement) element;
+            String base = basePackage(product);
+            if (null == base || !checkProduct(product)) {
+                continue;
+            }
+            Product annotation = product.getAnnotation(Product.class);
+            if (!isValidName(annotation.key()) || !annotation.family().isEmpty() && !isValidName(annotation.family())) {
+                error(product, "@Product key and family must be made of letters, digits, '_', '-' or '.'");
+                continue;
+            }
+            Map<String, TypeElement> products = annotation.family().isEmpty()
+                    ? factories.computeIfAbsent(base, k -> new TreeMap<>())
+                    : families.computeIfAbsent(base, k -> new TreeMap<>()).computeIfAbsent(annotation.family(), k -> new TreeMap<>());
+            TypeElement duplicate = products.put(annotation.key(), product);
+            if (null != duplicate) {
+                error(product, "Duplicate @Product key \"" + annotation.key() + "\", also on " + duplicate.getQualifiedName());
+            }
+        }
+        for (Map.Entry<String, Map<String, TypeElement>> entry : factories.entrySet()) {
+            TypeElement factory = factoryInterface(entry.getKey(), entry.getValue().values().iterator().next());
+            if (null != factory && checkFactoryMethod(factory, entry.getValue())) {
+                writeFactories(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<String, Map<String, Map<String, TypeElement>>> entry : families.entrySet()) {
+            TypeElement any = entry.getValue().values().iterator().next().values().iterator().next();
+            TypeElement factory = factoryInterface(entry.getKey(), any);
+            if (null != factory && checkFamilies(factory, entry.getValue())) {
+                writeFamilies(entry.getKey(), factory, entry.getValue());
+            }
+        }
+        return true;
+    }
+
+    // `<base>` of the `<base>.product.IProduct` implemented by the product, null if none
+    private String basePackage(TypeElement product) {
+        for (TypeElement type = product; null != type; type = superclass(type)) {
+            for (TypeMirror interfaceType : type.getInterfaces()) {
+                TypeElement element = (TypeElement) processingEnv.getTypeUtils().asElement(interfaceType);
+                String name = element.getQualifiedName().toString();
+                if (name.endsWith(".product.IProduct")) {
+                    return name.substring(0, name.length() - ".product.IProduct".length());
+                }
+            }
+        }
+        error(product, "@Product class must implement an IProduct");
+        return null;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return TypeKind.DECLARED == superclass.getKind() ? (TypeElement) processingEnv.getTypeUtils().asElement(superclass) : null;
+    }
+
+    private boolean checkProduct(TypeElement product) {
+        if (ElementKind.CLASS != product.getKind() || product.getModifiers().contains(Modifier.ABSTRACT)
+                || !product.getModifiers().contains(Modifier.PUBLIC) || product.getNestingKind().isNested()) {
+            error(product, "@Product must be a public, concrete, top level class");
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(product.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        error(product, "@Product class must have a public no-arg constructor");
+        return false;
+    }
+
+    private TypeElement factoryInterface(String base, TypeElement product) {
+        TypeElement factory = processingEnv.getElementUtils().getTypeElement(base + ".factory.IFactory");
+        if (null == factory) {
+            error(product, "No factory interface " + base + ".factory.IFactory for the @Product");
+        }
+        return factory;
+    }
+
+    // the factory method interface: `createProduct()`
+    private boolean checkFactoryMethod(TypeElement factory, Map<String, TypeElement> products) {
+        for (ExecutableElement method : abstractMethods(factory)) {
+            if ("createProduct".contentEquals(method.getSimpleName()) && method.getParameters().isEmpty()) {
+                return true;
+            }
+        }
+        error(products.values().iterator().next(), factory.getQualifiedName() + " has no createProduct(): set the family of the @Product");
+        return false;
+    }
+
+    // every `make<Key>()` of the abstract factory has a product in every family, every product has its method
+    private boolean checkFamilies(TypeElement factory, Map<String, Map<String, TypeElement>> families) {
+        boolean valid = true;
+        for (Map.Entry<String, Map<String, TypeElement>> family : families.entrySet()) {
+            for (ExecutableElement method : abstractMethods(factory)) {
+                String key = keyOf(method);
+                if (null == key || !method.getParameters().isEmpty()) {
+                    error(factory, "Abstract factory method must be make<Key>() without parameter: " + method);
+                    return false;
+                }
+                if (!family.getValue().containsKey(key)) {
+                    TypeElement any = family.getValue().values().iterator().next();
+                    error(any, "Family \"" + family.getKey() + "\" has no @Product(key = \"" + key + "\") for " + method.getSimpleName() + "()");
+                    valid = false;
+                }
+            }
+            for (Map.Entry<String, TypeElement> product : family.getValue().entrySet()) {
+                if (!hasMethodFor(factory, product.getKey())) {
+                    error(product.getValue(), factory.getQualifiedName() + " has no make method for the key \"" + product.getKey() + "\"");
+                    valid = false;
+                }
+            }
+        }
+        return valid;
+    }
+
+    private static boolean hasMethodFor(TypeElement factory, String key) {
+        for (ExecutableElement method : abstractMethods(factory)) {
+            if (key.equals(keyOf(method))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<ExecutableElement> abstractMethods(TypeElement factory) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(factory.getEnclosedElements())) {
+            if (method.getModifiers().contains(Modifier.ABSTRACT)) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    // makePhone -> phone
+    private static String keyOf(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        if (!name.startsWith("make") || name.length() == "make".length()) {
+            return null;
+        }
+        return Character.toLowerCase(name.charAt(4)) + name.substring(5);
+    }
+
+    private void writeFactories(String base, Map<String, TypeElement> products) {
+        String factoryPackage = base + ".factory";
+        String productType = base + ".product.IProduct";
+        try (PrintWriter out = open(factoryPackage + "." + FACTORIES, products.values())) {
+            out.println("package " + factoryPackage + ";");
+            out.println();
+            out.println("/**");
+            out.println(" * Factory method factories of the @Product classes, generated at compile time by "
+                    + ProductProcessor.class.getName() + ": do not edit.");
+            out.println(" */");
+            out.println("public final class " + FACTORIES + " {");
+            out.println();
+            out.println("    private static final java.util.List<String> KEYS = java.util.Collections.unmodifiableList(java.util.Arrays.asList("
+                    + quoted(products.keySet()) + "));");
+            out.println();
+            out.println("    // by id, in the order of KEYS");
+            out.println("    private static final IFactory[] FACTORIES = {" + instances("Factory", products.size()) + "};");
+            out.println();
+            out.println("    private " + FACTORIES + "() {");
+            out.println("    }");
+            out.println();
+            out.println("    /**");
+            out.println("     * @throws IllegalArgumentException if no @Product has the key");
+            out.println("     */");
+            out.println("    public static IFactory factory(String key) {");
+            out.println("        switch (key) {");
+            int id = 0;
+            for (String key : products.keySet()) {
+                out.println("            case \"" + key + "\":");
+                out.println("                return FACTORIES[" + id++ + "];");
+            }
+            out.println("            default:");
+            out.println("                throw new IllegalArgumentException(\"Unknown product: \" + key);");
+            out.println("        }");
+            out.println("    }");
+            out.println();
+            out.println("    public static java.util.List<String> keys() {");
+            out.println("        return KEYS;");
+            out.println("    }");
+            out.println();
+            out.println("    // one class for every product: a single class to load");
+            out.println("    private static final class Factory implements IFactory {");
+            out.println("        private final int id;");
+            out.println();
+            out.println("        Factory(int id) {");
+            out.println("            this.id = id;");
+            out.println("        }");
+            out.println();
+            out.println("        @Override");
+            out.println("        public " + productType + " createProduct() {");
+            writeSwitch(out, "id", new ArrayList<>(products.values()));
+            out.println("        }");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private void writeFamilies(String base, TypeElement factory, Map<String, Map<String, TypeElement>> families) {
+        String factoryPackage = base + ".factory";
+        String productType = base + ".product.IProduct";
+        List<TypeElement> originating = new ArrayList<>();
+        families.values().forEach(products -> originating.addAll(products.values()));
+        try (PrintWriter out = open(factoryPackage + "." + FAMILIES, originating)) {
+            out.println("package " + factoryPackage + ";");
+            out.println();
+            out.println("/**");
+            out.println(" * Abstract factories of the @Product families, generated at compile time by "
+                    + ProductProcessor.class.getName() + ": do not edit.");
+            out.println(" */");
+            out.println("public final class " + FAMILIES + " {");
+            out.println();
+            out.println("    private static final java.util.List<String> NAMES = java.util.Collections.unmodifiableList(java.util.Arrays.asList("
+                    + quoted(families.keySet()) + "));");
+            out.println();
+            out.println("    // by id, in the order of NAMES");
+            out.println("    private static final IFactory[] FAMILIES = {" + instances("Family", families.size()) + "};");
+            out.println();
+            out.println("    private " + FAMILIES + "() {");
+            out.println("    }");
+            out.println();
+            out.println("    /**");
+            out.println("     * @throws IllegalArgumentException if no @Product has the family");
+            out.println("     */");
+            out.println("    public static IFactory family(String name) {");
+            out.println("        switch (name) {");
+            int id = 0;
+            for (String family : families.keySet()) {
+                out.println("            case \"" + family + "\":");
+                out.println("                return FAMILIES[" + id++ + "];");
+            }
+            out.println("            default:");
+            out.println("                throw new IllegalArgumentException(\"Unknown family: \" + name);");
+            out.println("        }");
+            out.println("    }");
+            out.println();
+            out.println("    public static java.util.List<String> families() {");
+            out.println("        return NAMES;");
+            out.println("    }");
+            out.println();
+            out.println("    // one class for every family: a single class to load");
+            out.println("    private static final class Family implements IFactory {");
+            out.println("        private final int id;");
+            out.println();
+            out.println("        Family(int id) {");
+            out.println("            this.id = id;");
+            out.println("        }");
+            for (ExecutableElement method : abstractMethods(factory)) {
+                String key = keyOf(method);
+                List<TypeElement> products = new ArrayList<>();
+                for (Map<String, TypeElement> family : families.values()) {
+                    products.add(family.get(key));
+                }
+                out.println();
+                out.println("        @Override");
+                out.println("        public " + productType + " " + method.getSimpleName() + "() {");
+                writeSwitch(out, "id", products);
+                out.println("        }");
+            }
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private static void writeSwitch(PrintWriter out, String selector, List<TypeElement> products) {
+        out.println("            switch (" + selector + ") {");
+        for (int i = 0; i < products.size(); i++) {
+            out.println("                case " + i + ":");
+            out.println("                    return new " + products.get(i).getQualifiedName() + "();");
+        }
+        out.println("                default:");
+        out.println("                    throw new IllegalStateException(\"Unknown " + selector + ": \" + " + selector + ");");
+        out.println("            }");
+    }
+
+    private PrintWriter open(String className, Iterable<TypeElement> originating) {
+        List<Element> elements = new ArrayList<>();
+        originating.forEach(elements::add);
+        try {
+            Writer writer = processingEnv.getFiler().createSourceFile(className, elements.toArray(new Element[0])).openWriter();
+            return new PrintWriter(writer);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot generate " + className, e);
+        }
+    }
+
+    private static String quoted(Iterable<String> values) {
+        StringBuilder builder = new StringBuilder();
+        for (String value : values) {
+            builder.append(builder.length() == 0 ? "" : ", ").append('"').append(value).append('"');
+        }
+        return builder.toString();
+    }
+
+    // new Factory(0), new Factory(1)...
+    private static String instances(String className, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int id = 0; id < count; id++) {
+            builder.append(0 == id ? "" : ", ").append("new ").append(className).append('(').append(id).append(')');
+        }
+        return builder.toString();
+    }
+
+    // used as string literals in the generated code: no quote or backslash to escape
+    private static boolean isValidName(String name) {
+        return name.matches("[A-Za-z0-9_.-]+");
+    }
+
+    private void error(Element element, String message) {
+        Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,175 @@
+package com.sissilab.dp.processor;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ProductProcessorTest {
+
+    private static final String PRODUCT = "package demo.product;\npublic interface IProduct {\n}\n";
+
+    private static final String FACTORY_METHOD = "package demo.factory;\n"
+            + "public interface IFactory {\n    demo.product.IProduct createProduct();\n}\n";
+
+    private static final String ABSTRACT_FACTORY = "package demo.factory;\n"
+            + "public interface IFactory {\n    demo.product.IProduct makePhone();\n    demo.product.IProduct makeLaptop();\n}\n";
+
+    /**
+     * Product Processor: valid products compile, with their generated factories
+     */
+    @Test
+    public void testValidProducts() throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(
+                source("demo.product.IProduct", PRODUCT),
+                source("demo.factory.IFactory", ABSTRACT_FACTORY),
+                product("demo.product.ApplePhone", "@com.sissilab.dp.processor.Product(key = \"phone\", family = \"Apple\")"),
+                product("demo.product.AppleLaptop", "@com.sissilab.dp.processor.Product(key = \"laptop\", family = \"Apple\")"));
+
+        Assertions.assertEquals(Collections.emptyList(), errors); // √
+    }
+
+    /**
+     * Product Processor: two products of the same key fail the compilation, the error is on the second one
+     */
+    @Test
+    public void testDuplicateKey() throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(
+                source("demo.product.IProduct", PRODUCT),
+                source("demo.factory.IFactory", FACTORY_METHOD),
+                product("demo.product.Phone", "@com.sissilab.dp.processor.Product(key = \"phone\")"),
+                product("demo.product.OtherPhone", "@com.sissilab.dp.processor.Product(key = \"phone\")"));
+
+        assertError(errors, "Duplicate @Product key \"phone\", also on demo.product."); // √
+    }
+
+    /**
+     * Product Processor: a `make<Key>()` method of the abstract factory without product in a family fails the compilation
+     */
+    @Test
+    public void testMissingMakeMethodProduct() throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(
+                source("demo.product.IProduct", PRODUCT),
+                source("demo.factory.IFactory", ABSTRACT_FACTORY),
+                product("demo.product.ApplePhone", "@com.sissilab.dp.processor.Product(key = \"phone\", family = \"Apple\")"));
+
+        assertError(errors, "Family \"Apple\" has no @Product(key = \"laptop\") for makeLaptop()"); // √
+    }
+
+    /**
+     * Product Processor: a product of a key without `make<Key>()` method fails the compilation
+     */
+    @Test
+    public void testMissingMakeMethod() throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(
+                source("demo.product.IProduct", PRODUCT),
+                source("demo.factory.IFactory", ABSTRACT_FACTORY),
+                product("demo.product.ApplePhone", "@com.sissilab.dp.processor.Product(key = \"phone\", family = \"Apple\")"),
+                product("demo.product.AppleLaptop", "@com.sissilab.dp.processor.Product(key = \"laptop\", family = \"Apple\")"),
+                product("demo.product.AppleWatch", "@com.sissilab.dp.processor.Product(key = \"watch\", family = \"Apple\")"));
+
+        assertError(errors, "demo.factory.IFactory has no make method for the key \"watch\""); // √
+    }
+
+    /**
+     * Product Processor: a product class which is not public fails the compilation
+     */
+    @Test
+    public void testNonPublicClass() throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(
+                source("demo.product.IProduct", PRODUCT),
+                source("demo.factory.IFactory", FACTORY_METHOD),
+                source("demo.product.Phone", "package demo.product;\n"
+                        + "@com.sissilab.dp.processor.Product(key = \"phone\")\nclass Phone implements IProduct {\n}\n"));
+
+        assertError(errors, "@Product must be a public, concrete, top level class"); // √
+    }
+
+    /**
+     * Product Processor: a product class without public no-arg constructor fails the compilation
+     */
+    @Test
+    public void testNoNoArgConstructor() throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(
+                source("demo.product.IProduct", PRODUCT),
+                source("demo.factory.IFactory", FACTORY_METHOD),
+                source("demo.product.Phone", "package demo.product;\n"
+                        + "@com.sissilab.dp.processor.Product(key = \"phone\")\npublic class Phone implements IProduct {\n"
+                        + "    public Phone(String brand) {\n    }\n}\n"));
+
+        assertError(errors, "@Product class must have a public no-arg constructor"); // √
+    }
+
+    private static void assertError(List<Diagnostic<? extends JavaFileObject>> errors, String message) {
+        Assertions.assertFalse(errors.isEmpty(), "the compilation should fail");
+        for (Diagnostic<? extends JavaFileObject> error : errors) {
+            if (error.getMessage(null).startsWith(message)) {
+                return;
+            }
+        }
+        Assertions.fail("No error \"" + message + "\" in " + errors);
+    }
+
+    // the errors of a compilation of the sources with the processor, the outputs in a deleted temporary directory
+    private static List<Diagnostic<? extends JavaFileObject>> compile(JavaFileObject... sources) throws IOException, URISyntaxException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Path output = Files.createTempDirectory("product-processor");
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(output.toFile()));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(output.toFile()));
+            // the `@Product` annotation: not `java.class.path`, which may be a manifest-only jar under surefire
+            File annotation = new File(Product.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            fileManager.setLocation(StandardLocation.CLASS_PATH, Collections.singletonList(annotation));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, null, null, Arrays.asList(sources));
+            task.setProcessors(Collections.singletonList(new ProductProcessor()));
+            task.call();
+        } finally {
+            try (Stream<Path> files = Files.walk(output)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (Diagnostic.Kind.ERROR == diagnostic.getKind()) {
+                errors.add(diagnostic);
+            }
+        }
+        return errors;
+    }
+
+    private static JavaFileObject product(String className, String annotation) {
+        int dot = className.lastIndexOf('.');
+        return source(className, "package " + className.substring(0, dot) + ";\n"
+                + annotation + "\npublic class " + className.substring(dot + 1) + " implements IProduct {\n}\n");
+    }
+
+    private static JavaFileObject source(String className, String code) {
+        URI uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
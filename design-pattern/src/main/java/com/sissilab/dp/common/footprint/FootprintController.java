@@ -0,0 +1,28 @@
+package com.sissilab.dp.common.footprint;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Memory footprint of the singletons and products, reported by `FootprintReporter`.
+ * Disabled by default: it exposes the internals of the application, enable it with `footprint.enabled=true`.
+ */
+@RestController
+@ConditionalOnProperty(name = "footprint.enabled", havingValue = "true")
+public class FootprintController {
+
+    private final FootprintReporter reporter = new FootprintReporter().withDefaults();
+
+    /**
+     * http://localhost:8080/footprint
+     *
+     * @return shallow size, retained size and field layout of each target, the largest retained size first
+     */
+    @GetMapping("footprint")
+    public List<ObjectFootprint> footprint() {
+        return reporter.report();
+    }
+}
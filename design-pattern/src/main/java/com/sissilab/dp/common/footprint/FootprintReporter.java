@@ -0,0 +1,99 @@
+package com.sissilab.dp.common.footprint;
+
+import com.sissilab.dp.ox1_creational.ox11_singleton.perfect.*;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.factory.SimpleFactory;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.*;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Footprint Reporter: the memory footprint of the singletons and of the products, to decide which singletons to make
+ * lazy (`Lazy`) or evictable (`EvictableLazy`) on small heaps.
+ * <p>
+ * Each target is registered with a supplier, called when reporting: reporting a lazy singleton creates it.
+ * `withDefaults()` registers the perfect singletons and every IProduct implementation.
+ * <p>
+ * Use it:
+ * 1. CLI: `java -cp design-pattern.jar com.sissilab.dp.common.footprint.FootprintReporter [--layout]`
+ * 2. Spring: `GET /footprint` (see `FootprintController`)
+ */
+public final class FootprintReporter {
+
+    // name -> supplier of the instance to measure, in registration order
+    private final Map<String, Supplier<?>> targets = new LinkedHashMap<>();
+
+    public synchronized FootprintReporter register(String name, Supplier<?> target) {
+        targets.put(name, target);
+        return this;
+    }
+
+    /**
+     * The perfect singletons and the products of the simple factory, factory method and abstract factory.
+     */
+    public FootprintReporter withDefaults() {
+        register("singleton: LazySingletonDoubleCheckPerfect", LazySingletonDoubleCheckPerfect::getInstance);
+        register("singleton: LazySingletonLazyHolderPerfect", LazySingletonLazyHolderPerfect::getInstance);
+        register("singleton: StaticInnerSingletonPerfect", StaticInnerSingletonPerfect::getInstance);
+        register("singleton: EagerSingletonStaticConstantPerfect", EagerSingletonStaticConstantPerfect::getInstance);
+        register("singleton: EagerSingletonStaticBlockPerfect", EagerSingletonStaticBlockPerfect::getInstance);
+        register("singleton: EnumSingletonPerfect", () -> EnumSingletonPerfect.instance);
+        for (SimpleFactory.PRODUCT_TYPE type : SimpleFactory.PRODUCT_TYPE.values()) {
+            register("simple_factory: " + type, () -> SimpleFactory.createProduct(type));
+        }
+        register("factory_method: Phone", com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Phone::new);
+        register("factory_method: Laptop", com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Laptop::new);
+        register("factory_method: Earphone", com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Earphone::new);
+        register("abstract_factory: ApplePhone", ApplePhone::new);
+        register("abstract_factory: AppleLaptop", AppleLaptop::new);
+        register("abstract_factory: AppleEarphone", AppleEarphone::new);
+        register("abstract_factory: HuaweiPhone", HuaweiPhone::new);
+        register("abstract_factory: HuaweiLaptop", HuaweiLaptop::new);
+        register("abstract_factory: HuaweiEarphone", HuaweiEarphone::new);
+        return this;
+    }
+
+    /**
+     * @return the footprint of every target, the largest retained size first
+     */
+    public List<ObjectFootprint> report() {
+        List<Map.Entry<String, Supplier<?>>> entries;
+        synchronized (this) {
+            entries = new ArrayList<>(targets.entrySet());
+        }
+        List<ObjectFootprint> footprints = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Supplier<?>> entry : entries) {
+            footprints.add(ObjectFootprint.of(entry.getKey(), entry.getValue().get()));
+        }
+        footprints.sort(Comparator.comparingLong(ObjectFootprint::getRetainedSize).reversed());
+        return footprints;
+    }
+
+    public void printReport(PrintStream out, boolean layout) {
+        List<ObjectFootprint> footprints = report();
+        out.printf("%-50s %10s %10s %10s %10s%n", "target", "shallow", "retained", "objects", "padding");
+        for (ObjectFootprint footprint : footprints) {
+            out.printf("%-50s %10d %10d %10d %10d%n", footprint.getName(), footprint.getShallowSize(),
+                    footprint.getRetainedSize(), footprint.getRetainedObjects(), footprint.getPaddingBytes());
+        }
+        if (layout) {
+            for (ObjectFootprint footprint : footprints) {
+                out.println();
+                out.print(footprint.toLayoutString());
+            }
+        }
+    }
+
+    /**
+     * @param args `--layout` to print the field layout of each target
+     */
+    public static void main(String[] args) {
+        boolean layout = args.length > 0 && "--layout".equals(args[0]);
+        new FootprintReporter().withDefaults().printReport(System.out, layout);
+    }
+}
@@ -0,0 +1,440 @@
+package com.sissilab.dp.common.footprint;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Object Footprint: the memory layout and footprint of an object graph, in the style of JOL.
+ * <p>
+ * Without an agent, `Instrumentation.getObjectSize()` is not available: the layout is read from the running JVM instead
+ * (`Unsafe.objectFieldOffset()` of each instance field, the header size and the reference size of this JVM), so it
+ * takes the compressed oops/class pointers and the field packing of the JVM into account.
+ * 1. shallow size: header + fields, aligned to the object alignment
+ * 2. retained size: the sum of the shallow sizes of every object reachable from the root, each counted once.
+ * `Class`, `ClassLoader` and `Thread` instances are not walked, they are not owned by the root. Objects shared with
+ * the rest of the heap are counted too, so it is an upper bound of what the GC would reclaim without the root
+ * 3. field layout: offset and size of each field, and the padding (gaps between fields and alignment of the end)
+ * <p>
+ * `Unsafe.objectFieldOffset()` refuses the hidden classes (e.g. lambdas) and the records of Java 15+: their layout is
+ * estimated (fields packed after the header by decreasing size, as HotSpot does) and their references are read by
+ * reflection, or not walked when the reflection is denied (classes of the JDK modules).
+ * <p>
+ * `sun.misc.Unsafe` is only reached through method handles: no reference to the internal API at compile time.
+ * <p>
+ * State held in static fields (e.g. a static holder class of a lazy resource) is not reachable from the instance:
+ * it is not counted.
+ */
+public final class ObjectFootprint {
+
+    private static final MethodHandle OBJECT_FIELD_OFFSET;
+    private static final MethodHandle GET_OBJECT;
+    private static final MethodHandle ARRAY_BASE_OFFSET;
+    private static final MethodHandle ARRAY_INDEX_SCALE;
+
+    static {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            OBJECT_FIELD_OFFSET = lookup.findVirtual(unsafeClass, "objectFieldOffset", MethodType.methodType(long.class, Field.class)).bindTo(unsafe);
+            GET_OBJECT = lookup.findVirtual(unsafeClass, "getObject", MethodType.methodType(Object.class, Object.class, long.class)).bindTo(unsafe);
+            ARRAY_BASE_OFFSET = lookup.findVirtual(unsafeClass, "arrayBaseOffset", MethodType.methodType(int.class, Class.class)).bindTo(unsafe);
+            ARRAY_INDEX_SCALE = lookup.findVirtual(unsafeClass, "arrayIndexScale", MethodType.methodType(int.class, Class.class)).bindTo(unsafe);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("sun.misc.Unsafe is not available", e);
+        }
+    }
+
+    private static final int REFERENCE_SIZE = arrayIndexScale(Object[].class);
+
+    // offset of the first field of an object: the header size (12 with compressed class pointers, 16 otherwise)
+    private static final int HEADER_SIZE = (int) objectFieldOffset(field(HeaderProbe.class, "probe"));
+
+    private static final int OBJECT_ALIGNMENT = objectAlignment();
+
+    // the layout of each measured class, computed once
+    private static final ClassValue<ClassLayout> LAYOUTS = new ClassValue<ClassLayout>() {
+        @Override
+        protected ClassLayout computeValue(Class<?> type) {
+            return ClassLayout.of(type);
+        }
+    };
+
+    private final String name;
+    private final String type;
+    private final long shallowSize;
+    private final long retainedSize;
+    private final long retainedObjects;
+    private final List<FieldLayout> fields;
+    private final long paddingBytes;
+    private final boolean layoutEstimated;
+
+    private ObjectFootprint(String name, String type, long shallowSize, long retainedSize, long retainedObjects,
+                            List<FieldLayout> fields, long paddingBytes, boolean layoutEstimated) {
+        this.name = name;
+        this.type = type;
+        this.shallowSize = shallowSize;
+        this.retainedSize = retainedSize;
+        this.retainedObjects = retainedObjects;
+        this.fields = fields;
+        this.paddingBytes = paddingBytes;
+        this.layoutEstimated = layoutEstimated;
+    }
+
+    /**
+     * Measure the footprint of `root` and of everything reachable from it.
+     */
+    public static ObjectFootprint of(String name, Object root) {
+        Objects.requireNonNull(root, "root");
+        Class<?> type = root.getClass();
+
+        long retainedSize = 0;
+        long retainedObjects = 0;
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(root);
+        visited.add(root);
+        while (!pending.isEmpty()) {
+            Object object = pending.pop();
+            retainedSize += shallowSizeOf(object);
+            retainedObjects++;
+            for (Object reference : references(object)) {
+                if (null != reference && !isShared(reference) && visited.add(reference)) {
+                    pending.push(reference);
+                }
+            }
+        }
+
+        List<FieldLayout> layout = new ArrayList<>();
+        long paddingBytes = 0;
+        long shallowSize = shallowSizeOf(root);
+        boolean layoutEstimated = false;
+        if (!type.isArray()) {
+            ClassLayout classLayout = LAYOUTS.get(type);
+            layoutEstimated = !classLayout.exact;
+            long end = HEADER_SIZE;
+            for (int i = 0; i < classLayout.fields.length; i++) {
+                Field field = classLayout.fields[i];
+                long offset = classLayout.offsets[i];
+                if (offset > end) {
+                    layout.add(FieldLayout.gap(end, offset - end));
+                    paddingBytes += offset - end;
+                }
+                int size = sizeOf(field.getType());
+                layout.add(new FieldLayout(offset, size, field.getDeclaringClass().getSimpleName() + "." + field.getName(), field.getType().getSimpleName()));
+                end = offset + size;
+            }
+            if (shallowSize > end) {
+                layout.add(FieldLayout.gap(end, shallowSize - end));
+                paddingBytes += shallowSize - end;
+            }
+        }
+        return new ObjectFootprint(name, type.getName(), shallowSize, retainedSize, retainedObjects,
+                Collections.unmodifiableList(layout), paddingBytes, layoutEstimated);
+    }
+
+    /**
+     * The shallow size of one object: header + fields (or elements), aligned.
+     */
+    public static long shallowSizeOf(Object object) {
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            return align(arrayBaseOffset(type) + (long) Array.getLength(object) * arrayIndexScale(type));
+        }
+        return LAYOUTS.get(type).shallowSize;
+    }
+
+    // the objects referenced by the fields (or the elements) of `object`
+    private static List<Object> references(Object object) {
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            return type.getComponentType().isPrimitive() ? Collections.emptyList() : Arrays.asList((Object[]) object);
+        }
+        return LAYOUTS.get(type).references(object);
+    }
+
+    // not owned by any root: walking them would measure the whole JVM
+    private static boolean isShared(Object object) {
+        return object instanceof Class || object instanceof ClassLoader || object instanceof Thread;
+    }
+
+    private static int sizeOf(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return REFERENCE_SIZE;
+        }
+        if (long.class == type || double.class == type) {
+            return 8;
+        }
+        if (int.class == type || float.class == type) {
+            return 4;
+        }
+        if (short.class == type || char.class == type) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+    }
+
+    private static int objectAlignment() {
+        try {
+            HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return Integer.parseInt(hotSpot.getVMOption("ObjectAlignmentInBytes").getValue());
+        } catch (RuntimeException | LinkageError e) {
+            // not a HotSpot JVM: its default alignment
+            return 8;
+        }
+    }
+
+    // Unsafe.objectFieldOffset: UnsupportedOperationException for the fields of hidden classes and records
+    private static long objectFieldOffset(Field field) {
+        try {
+            return (long) OBJECT_FIELD_OFFSET.invokeExact(field);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Unsafe.getObject: no access check, e.g. on the private fields of the JDK classes
+    private static Object getObject(Object object, long offset) {
+        try {
+            return (Object) GET_OBJECT.invokeExact(object, offset);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int arrayBaseOffset(Class<?> arrayType) {
+        try {
+            return (int) ARRAY_BASE_OFFSET.invokeExact(arrayType);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int arrayIndexScale(Class<?> arrayType) {
+        try {
+            return (int) ARRAY_INDEX_SCALE.invokeExact(arrayType);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Field field(Class<?> type, String name) {
+        try {
+            return type.getDeclaredField(name);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // a single byte field, at the first offset after the header
+    private static final class HeaderProbe {
+        byte probe;
+    }
+
+    // the instance fields of a class, by offset, and its shallow size
+    private static final class ClassLayout {
+        private final Field[] fields;
+        private final long[] offsets;
+        // null: exact offsets, the fields are read through Unsafe; otherwise estimated offsets, the fields are read
+        // by reflection when it is allowed
+        private final boolean[] readable;
+        private final boolean exact;
+        private final long shallowSize;
+
+        private ClassLayout(Field[] fields, long[] offsets, boolean[] readable) {
+            this.fields = fields;
+            this.offsets = offsets;
+            this.readable = readable;
+            this.exact = null == readable;
+            long size = HEADER_SIZE;
+            for (int i = 0; i < fields.length; i++) {
+                size = Math.max(size, offsets[i] + sizeOf(fields[i].getType()));
+            }
+            this.shallowSize = align(size);
+        }
+
+        static ClassLayout of(Class<?> type) {
+            // instance fields of the class and its superclasses
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; null != c; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        fields.add(field);
+                    }
+                }
+            }
+            try {
+                long[] offsets = new long[fields.size()];
+                fields.sort(Comparator.comparingLong(ObjectFootprint::objectFieldOffset));
+                for (int i = 0; i < offsets.length; i++) {
+                    offsets[i] = objectFieldOffset(fields.get(i));
+                }
+                return new ClassLayout(fields.toArray(new Field[0]), offsets, null);
+            } catch (UnsupportedOperationException e) {
+                return estimated(fields);
+            }
+        }
+
+        // hidden class or record: the largest fields first, each one aligned to its size
+        private static ClassLayout estimated(List<Field> fields) {
+            fields.sort(Comparator.comparingInt((Field field) -> sizeOf(field.getType())).reversed());
+            long[] offsets = new long[fields.size()];
+            boolean[] readable = new boolean[fields.size()];
+            long offset = HEADER_SIZE;
+            for (int i = 0; i < offsets.length; i++) {
+                int size = sizeOf(fields.get(i).getType());
+                offset = (offset + size - 1) / size * size;
+                offsets[i] = offset;
+                offset += size;
+                if (!fields.get(i).getType().isPrimitive()) {
+                    try {
+                        fields.get(i).setAccessible(true);
+                        readable[i] = true;
+                    } catch (RuntimeException denied) {
+                        // InaccessibleObjectException (Java 9+), e.g. a lambda of a JDK module: not walked
+                    }
+                }
+            }
+            return new ClassLayout(fields.toArray(new Field[0]), offsets, readable);
+        }
+
+        List<Object> references(Object object) {
+            List<Object> references = new ArrayList<>();
+            for (int i = 0; i < fields.length; i++) {
+                Field field = fields[i];
+                if (field.getType().isPrimitive()) {
+                    continue;
+                }
+                if (exact) {
+                    references.add(getObject(object, offsets[i]));
+                } else if (readable[i]) {
+                    try {
+                        references.add(field.get(object));
+                    } catch (IllegalAccessException e) {
+                        // not walked
+                    }
+                }
+            }
+            return references;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public long getShallowSize() {
+        return shallowSize;
+    }
+
+    public long getRetainedSize() {
+        return retainedSize;
+    }
+
+    public long getRetainedObjects() {
+        return retainedObjects;
+    }
+
+    public List<FieldLayout> getFields() {
+        return fields;
+    }
+
+    // gaps between fields + alignment of the end
+    public long getPaddingBytes() {
+        return paddingBytes;
+    }
+
+    // hidden class or record: the field offsets are not available, they are estimated
+    public boolean isLayoutEstimated() {
+        return layoutEstimated;
+    }
+
+    /**
+     * JOL-like layout table.
+     */
+    public String toLayoutString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(name).append(" (").append(type).append(layoutEstimated ? ", estimated layout" : "").append(")\n");
+        sb.append(String.format(" OFF  SZ  %-40s %s%n", "FIELD", "TYPE"));
+        sb.append(String.format("%4d %3d  %-40s%n", 0, HEADER_SIZE, "(object header)"));
+        for (FieldLayout field : fields) {
+            sb.append(String.format("%4d %3d  %-40s %s%n", field.getOffset(), field.getSize(), field.getName(), field.getType()));
+        }
+        sb.append(String.format("shallow: %d bytes, padding: %d bytes, retained: %d bytes in %d objects%n",
+                shallowSize, paddingBytes, retainedSize, retainedObjects));
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectFootprint{name=" + name + ", shallowSize=" + shallowSize + ", retainedSize=" + retainedSize
+                + ", retainedObjects=" + retainedObjects + ", paddingBytes=" + paddingBytes + ", layoutEstimated=" + layoutEstimated + "}";
+    }
+
+    /**
+     * A field, or a gap of padding, in the layout of an object.
+     */
+    public static final class FieldLayout {
+        private final long offset;
+        private final int size;
+        private final String name;
+        private final String type;
+
+        FieldLayout(long offset, int size, String name, String type) {
+            this.offset = offset;
+            this.size = size;
+            this.name = name;
+            this.type = type;
+        }
+
+        static FieldLayout gap(long offset, long size) {
+            return new FieldLayout(offset, (int) size, "(padding)", "");
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public boolean isPadding() {
+            return type.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.sissilab.dp.common.log;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Event Log: asynchronous console output of the factories and products.
+ * <p>
+ * A `System.out.println()` on a hot path takes the lock of the PrintStream and does a write syscall per line:
+ * under load every thread is serialized on the console. Here:
+ * 1. the messages are published into a preallocated ring buffer: a producer claims a slot with one atomic increment,
+ * stores the message reference and publishes the slot, no lock, no allocation (the messages are constants)
+ * 2. a single background writer ("event-log-writer" daemon thread) drains the published slots in order, and writes
+ * each batch with one `write()` + `flush()`, encoded from reused char and byte buffers (default charset): no copy of
+ * the batch into a String
+ * 3. an idle writer backs off progressively, then parks until a producer unparks it: an idle log costs no CPU
+ * 4. when the ring is full, the producers wait for the writer: no message is lost
+ * 5. the output can be disabled entirely: `-Devent-log.enabled=false` or `EventLog.setEnabled(false)`,
+ * a disabled `log()` is a single volatile read
+ * 6. the pending messages are drained at JVM shutdown, or by `close()` which also stops the writer
+ * <p>
+ * Use it: `EventLog.log("Make Apple phone...");`
+ */
+public final class EventLog {
+
+    // first sleep of an idle writer, doubled at each empty poll: a burst of messages is picked up without any unpark
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    // empty polls before the writer parks until a producer unparks it: 100 µs + 200 µs + ... + 1.6 ms
+    private static final int IDLE_POLLS = 5;
+
+    // max messages per write, so that a continuous flow of messages is still printed regularly
+    private static final int MAX_BATCH = 1024;
+
+    private static final EventLog DEFAULT = new EventLog(Integer.getInteger("event-log.capacity", 8192), System.out);
+
+    static {
+        DEFAULT.enable(Boolean.parseBoolean(System.getProperty("event-log.enabled", "true")));
+        Runtime.getRuntime().addShutdownHook(new Thread(DEFAULT::flush, "event-log-shutdown"));
+    }
+
+    private final PrintStream out;
+
+    private final int mask;
+
+    private final String[] messages;
+
+    // sequence published in each slot, -1 before the first one
+    private final AtomicLongArray published;
+
+    // next sequence to claim by a producer
+    private final AtomicLong claimed = new AtomicLong();
+
+    // next sequence to write by the writer: the slots before it can be reused
+    private volatile long consumed;
+
+    // next sequence to be printed: the messages before it are on the console
+    private volatile long written;
+
+    private volatile boolean enabled = true;
+
+    private volatile boolean closed;
+
+    // set by the writer before parking without a timeout: the next producer unparks it
+    private volatile boolean sleeping;
+
+    // package-private for the tests
+    final Thread writer;
+
+    EventLog(int capacity, PrintStream out) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.out = Objects.requireNonNull(out, "out");
+        this.mask = size - 1;
+        this.messages = new String[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        this.writer = new Thread(this::write, "event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Log a message to the console, asynchronously.
+     */
+    public static void log(String message) {
+        DEFAULT.emit(message);
+    }
+
+    /**
+     * Enable or disable the output: when disabled, the messages are dropped.
+     */
+    public static void setEnabled(boolean enabled) {
+        DEFAULT.enable(enabled);
+    }
+
+    /**
+     * Wait until every message logged before is written.
+     */
+    public static void flushAll() {
+        DEFAULT.flush();
+    }
+
+    void emit(String message) {
+        if (!enabled) {
+            return;
+        }
+        long sequence = claimed.getAndIncrement();
+        // full: wait for the writer to free the slot, unless it is stopped
+        while (sequence - consumed > mask) {
+            if (!writer.isAlive()) {
+                return;
+            }
+            Thread.yield();
+        }
+        int index = (int) sequence & mask;
+        messages[index] = message;
+        // volatile store, ordered before the read of `sleeping`: either the writer sees the message before parking,
+        // or this producer sees it sleeping and unparks it
+        published.set(index, sequence);
+        if (sleeping) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    void flush() {
+        long target = claimed.get();
+        while (written < target && writer.isAlive()) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    void enable(boolean enabled) {
+        this.enabled = enabled && !closed;
+    }
+
+    /**
+     * Write the pending messages and stop the writer: the messages logged after are dropped.
+     */
+    void close() {
+        closed = true;
+        enabled = false;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // the single writer
+    private void write() {
+        BatchWriter batch = new BatchWriter(out);
+        long next = 0;
+        int idlePolls = 0;
+        for (; ; ) {
+            int index = (int) next & mask;
+            long batchEnd = next + MAX_BATCH;
+            while (next < batchEnd && published.get(index) == next) {
+                batch.append(messages[index]);
+                messages[index] = null;
+                next++;
+                index = (int) next & mask;
+                // free the slots regularly during a long batch, so that waiting producers can go on
+                if ((next & 63) == 0) {
+                    consumed = next;
+                }
+            }
+            if (!batch.isEmpty()) {
+                batch.write();
+                consumed = next;
+                written = next;
+                idlePolls = 0;
+            } else if (closed) {
+                return;
+            } else if (idlePolls < IDLE_POLLS) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS << idlePolls++);
+            } else {
+                sleeping = true;
+                // re-check after announcing it: a message published before was not followed by an unpark
+                if (published.get(index) != next && !closed) {
+                    LockSupport.park(this);
+                }
+                sleeping = false;
+            }
+        }
+    }
+
+    // the messages of a batch, one per line, written as bytes of the default charset from buffers reused by every batch
+    private static final class BatchWriter {
+        private static final String LINE_SEPARATOR = System.lineSeparator();
+
+        private final PrintStream out;
+
+        private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        private final ByteBuffer bytes = ByteBuffer.allocate(8192);
+
+        private char[] chars = new char[4096];
+
+        private CharBuffer charBuffer = CharBuffer.wrap(chars);
+
+        private int length;
+
+        BatchWriter(PrintStream out) {
+            this.out = out;
+        }
+
+        void append(String message) {
+            if (null == message) {
+                message = "null";
+            }
+            int end = length + message.length() + LINE_SEPARATOR.length();
+            if (end > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(end, chars.length * 2));
+                charBuffer = CharBuffer.wrap(chars);
+            }
+            message.getChars(0, message.length(), chars, length);
+            LINE_SEPARATOR.getChars(0, LINE_SEPARATOR.length(), chars, end - LINE_SEPARATOR.length());
+            length = end;
+        }
+
+        boolean isEmpty() {
+            return 0 == length;
+        }
+
+        void write() {
+            charBuffer.clear();
+            charBuffer.limit(length);
+            encoder.reset();
+            CoderResult result;
+            do {
+                result = encoder.encode(charBuffer, bytes, true);
+                drain();
+            } while (result.isOverflow());
+            do {
+                result = encoder.flush(bytes);
+                drain();
+            } while (result.isOverflow());
+            out.flush();
+            length = 0;
+        }
+
+        private void drain() {
+            out.write(bytes.array(), 0, bytes.position());
+            bytes.clear();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.sissilab.dp.common.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Creation Metrics: how many products of each family and type are created, how fast and how long it takes.
+ * <p>
+ * One `Meter` per (family, product type), resolved once by the instrumented factory, not looked up per call:
+ * 1. count: a striped counter (LongAdder), no contention between the creating threads
+ * 2. latency: a lock-free `LatencyHistogram`, sampled: only 1 creation out of `sampleInterval` reads the clock,
+ * `System.nanoTime()` costs more than the counter and than the creation of a small product
+ * 3. snapshot: `snapshot()` reads every meter without blocking the factories
+ * <p>
+ * The sample interval is a power of 2, `-Dcreation-metrics.sample-interval=N` (default 64, 1 to time every creation).
+ * <p>
+ * Use it:
+ * 1. instrumented factories register their meters in `CreationMetrics.global()`
+ * 2. `CreationMetrics.global().snapshot()`, or `GET /metrics/creation` (see `CreationMetricsController`)
+ */
+public final class CreationMetrics {
+
+    private static final CreationMetrics GLOBAL = of(Integer.getInteger("creation-metrics.sample-interval", 64));
+
+    private final int sampleMask;
+
+    // "family/type" -> meter
+    private final ConcurrentMap<String, Meter> meters = new ConcurrentHashMap<>();
+
+    private CreationMetrics(int sampleInterval) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("sampleInterval must be positive: " + sampleInterval);
+        }
+        int interval = Integer.highestOneBit(sampleInterval) == sampleInterval ? sampleInterval : Integer.highestOneBit(sampleInterval) << 1;
+        this.sampleMask = interval - 1;
+    }
+
+    /**
+     * Metrics separate from the global ones, e.g. for a test or a benchmark.
+     *
+     * @param sampleInterval 1 creation out of `sampleInterval` is timed, rounded up to a power of 2
+     */
+    public static CreationMetrics of(int sampleInterval) {
+        return new CreationMetrics(sampleInterval);
+    }
+
+    public static CreationMetrics global() {
+        return GLOBAL;
+    }
+
+    /**
+     * The meter of a family and product type, created on first use and shared by every factory of the same pair.
+     */
+    public Meter meter(String family, String productType) {
+        Objects.requireNonNull(family, "family");
+        Objects.requireNonNull(productType, "productType");
+        return meters.computeIfAbsent(family + '/' + productType, key -> new Meter(family, productType, sampleMask));
+    }
+
+    /**
+     * @return the stats of every meter, by family then product type
+     */
+    public List<Stats> snapshot() {
+        List<Stats> stats = new ArrayList<>(meters.size());
+        for (Meter meter : meters.values()) {
+            stats.add(meter.stats());
+        }
+        stats.sort(Comparator.comparing(Stats::getFamily).thenComparing(Stats::getProductType));
+        return stats;
+    }
+
+    /**
+     * Counter and latency histogram of a family and product type.
+     * <p>
+     * Around each creation: `long start = meter.start(); ...create...; meter.stop(start);`
+     */
+    public static final class Meter {
+        private final String family;
+        private final String productType;
+        private final int sampleMask;
+        private final long startedAt = System.nanoTime();
+        private final LongAdder count = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        Meter(String family, String productType, int sampleMask) {
+            this.family = family;
+            this.productType = productType;
+            this.sampleMask = sampleMask;
+        }
+
+        /**
+         * @return the start time if this creation is sampled, 0 if not
+         */
+        public long start() {
+            if (0 != (ThreadLocalRandom.current().nextInt() & sampleMask)) {
+                return 0;
+            }
+            // never 0 for a sampled creation
+            return System.nanoTime() | 1;
+        }
+
+        /**
+         * @param start the value returned by `start()`
+         */
+        public void stop(long start) {
+            count.increment();
+            if (0 != start) {
+                latency.record(System.nanoTime() - start);
+            }
+        }
+
+        /**
+         * Count `n` creations at once, without latency, e.g. a bulk creation.
+         */
+        public void add(long n) {
+            count.add(n);
+        }
+
+        public Stats stats() {
+            long created = count.sum();
+            double seconds = (System.nanoTime() - startedAt) / (double) TimeUnit.SECONDS.toNanos(1);
+            return new Stats(family, productType, created, seconds > 0 ? created / seconds : 0, latency.count(),
+                    latency.mean(), latency.percentile(50), latency.percentile(99), latency.percentile(99.9), latency.max());
+        }
+    }
+
+    /**
+     * A snapshot of a meter, the latencies in nanoseconds.
+     */
+    public static final class Stats {
+        private final String family;
+        private final String productType;
+        private final long count;
+        private final double ratePerSecond;
+        private final long sampled;
+        private final double mean;
+        private final long p50;
+        private final long p99;
+        private final long p999;
+        private final long max;
+
+        Stats(String family, String productType, long count, double ratePerSecond, long sampled,
+              double mean, long p50, long p99, long p999, long max) {
+            this.family = family;
+            this.productType = productType;
+            this.count = count;
+            this.ratePerSecond = ratePerSecond;
+            this.sampled = sampled;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.max = max;
+        }
+
+        public String getFamily() {
+            return family;
+        }
+
+        public String getProductType() {
+            return productType;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        // mean rate since the first use of the meter: diff `count` of two snapshots for the current rate
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        // creations whose latency was recorded
+        public long getSampled() {
+            return sampled;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getP999() {
+            return p999;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" + family + '/' + productType + ", count=" + count + String.format(", rate=%.1f/s", ratePerSecond)
+                    + ", sampled=" + sampled + String.format(", mean=%.1fns", mean) + ", p50=" + p50 + "ns, p99=" + p99
+                    + "ns, p99.9=" + p999 + "ns, max=" + max + "ns}";
+        }
+    }
+}
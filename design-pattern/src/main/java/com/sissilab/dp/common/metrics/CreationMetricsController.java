@@ -0,0 +1,26 @@
+package com.sissilab.dp.common.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Creation metrics of the instrumented factories, recorded in `CreationMetrics.global()`.
+ * Disabled by default, enable it with `creation-metrics.enabled=true`.
+ */
+@RestController
+@ConditionalOnProperty(name = "creation-metrics.enabled", havingValue = "true")
+public class CreationMetricsController {
+
+    /**
+     * http://localhost:8080/metrics/creation
+     *
+     * @return count, rate and latency percentiles (ns) of each family and product type
+     */
+    @GetMapping("metrics/creation")
+    public List<CreationMetrics.Stats> creation() {
+        return CreationMetrics.global().snapshot();
+    }
+}
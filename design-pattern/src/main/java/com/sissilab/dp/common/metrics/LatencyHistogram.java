@@ -0,0 +1,111 @@
+package com.sissilab.dp.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency Histogram: lock-free log-linear histogram of durations in nanoseconds.
+ * <p>
+ * 1. buckets: the values below 16 have their own bucket, above each power of 2 is split into 8 linear sub-buckets,
+ * so a bucket is at most 12.5% wide whatever the magnitude (1ns .. 2^63ns), in 488 fixed buckets
+ * 2. recording: one atomic increment of the bucket, plus the striped sum and max, no lock and no allocation
+ * 3. reading: a percentile is the upper bound of the bucket reaching it, the recorders are never blocked
+ * <p>
+ * The counters are read one by one: a snapshot taken while recording is approximate, not torn.
+ */
+public final class LatencyHistogram {
+
+    // sub-buckets per power of 2: 2^3 = 8
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // values below it are exact: 2 * SUB_BUCKETS = 16
+    private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;
+
+    // 16 exact buckets, then 8 per exponent from 4 (16) to 62 (the highest bit of a positive long)
+    static final int BUCKET_COUNT = LINEAR_LIMIT + (62 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Record a duration, negative durations count as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.getAndIncrement(bucketOf(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += buckets.get(i);
+        }
+        return count;
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long count = count();
+        return 0 == count ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * @param percentile between 0 and 100, e.g. 99.9
+     * @return the upper bound of the bucket of the percentile, 0 if nothing was recorded
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        }
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (0 == total) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // never above the max really recorded
+                return Math.min(upperBoundOf(i), max());
+            }
+        }
+        return max();
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // the largest value of a bucket
+    static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        long subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        // (8 + subBucket) * width .. (8 + subBucket + 1) * width - 1, the last bucket ends at Long.MAX_VALUE
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,206 @@
+package com.sissilab.dp.common.serial;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serial Numbers: unique serial numbers for the created products, never repeated, even after a crash.
+ * <p>
+ * A shared `AtomicLong.incrementAndGet()` per product makes every creating thread write the same cache line. Here:
+ * 1. block reservation: each thread reserves a block of `blockSize` serials with one atomic add, then hands them out
+ * from a thread-local block, without any shared write
+ * 2. high-water mark: before a block is handed out, a mark above its end is persisted to the file, so the next start
+ * (after a clean exit or a crash) resumes above every serial ever handed out
+ * 3. fsync batching: the mark is persisted `blocksPerSync` blocks ahead, one `force()` covers many blocks
+ * 4. the file is locked (`FileChannel.tryLock`): two processes using the same file would hand out the same serials
+ * <p>
+ * The serials are unique and increasing per thread, not in creation order across threads. The serials of the blocks
+ * reserved but not handed out (threads ending, crash) are skipped: there are gaps, never duplicates.
+ * <p>
+ * The products get serial numbers only once an instance is installed with `useForProducts()`: until then no file is
+ * opened, creating a product has no side effect and its serial number is 0. `fromSystemProperties()` reads
+ * `-Dserial-numbers.file=serial-numbers.dat` (working directory by default), `-Dserial-numbers.block-size=1024` and
+ * `-Dserial-numbers.blocks-per-sync=64`.
+ * <p>
+ * Use it: `SerialNumbers.useForProducts(SerialNumbers.of(Paths.get("serial-numbers.dat"), 1024, 64));`
+ */
+public final class SerialNumbers implements Closeable {
+
+    // 0 means "no serial number"
+    static final long FIRST = 1;
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final FileLock lock;
+
+    private final int blockSize;
+
+    // serials reserved ahead of the blocks when persisting the mark
+    private final long syncAhead;
+
+    // start of the next block to reserve
+    private final AtomicLong reserved;
+
+    // persisted high-water mark: every serial handed out is below it
+    private volatile long persisted;
+
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+
+    // the serial numbers of the new products, null: the products are created without serial number
+    private static volatile SerialNumbers forProducts;
+
+    private SerialNumbers(Path file, int blockSize, int blocksPerSync) throws IOException {
+        this.file = file;
+        this.blockSize = blockSize;
+        this.syncAhead = (long) blockSize * (blocksPerSync - 1);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long start = FIRST;
+        try {
+            this.lock = channel.tryLock();
+            if (null == lock) {
+                throw new IllegalStateException(file + " is used by another process");
+            }
+            ByteBuffer mark = ByteBuffer.allocate(Long.BYTES);
+            if (Long.BYTES == channel.read(mark, 0)) {
+                start = Math.max(FIRST, mark.getLong(0));
+            }
+        } catch (OverlappingFileLockException e) {
+            closeQuietly(e);
+            throw new IllegalStateException(file + " is already used in this JVM", e);
+        } catch (IOException | RuntimeException e) {
+            // closing the channel also releases the lock
+            closeQuietly(e);
+            throw e;
+        }
+        this.reserved = new AtomicLong(start);
+        this.persisted = start;
+    }
+
+    /**
+     * @param blockSize     serials reserved at once by a thread
+     * @param blocksPerSync blocks covered by each persisted mark: 1 to fsync at every reservation
+     * @throws UncheckedIOException  if the file cannot be opened
+     * @throws IllegalStateException if the file is used by another instance
+     */
+    public static SerialNumbers of(Path file, int blockSize, int blocksPerSync) {
+        Objects.requireNonNull(file, "file");
+        if (blockSize <= 0 || blocksPerSync <= 0) {
+            throw new IllegalArgumentException("blockSize and blocksPerSync must be positive: " + blockSize + ", " + blocksPerSync);
+        }
+        try {
+            return new SerialNumbers(file, blockSize, blocksPerSync);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open " + file, e);
+        }
+    }
+
+    /**
+     * The serial numbers configured by the system properties `serial-numbers.file`, `serial-numbers.block-size` and
+     * `serial-numbers.blocks-per-sync`.
+     */
+    public static SerialNumbers fromSystemProperties() {
+        return of(Paths.get(System.getProperty("serial-numbers.file", "serial-numbers.dat")),
+                Integer.getInteger("serial-numbers.block-size", 1024), Integer.getInteger("serial-numbers.blocks-per-sync", 64));
+    }
+
+    /**
+     * Give a serial number from `serialNumbers` to every product created from now on, null to stop.
+     * The caller keeps the ownership of the instance: it closes it once no product is created anymore.
+     */
+    public static void useForProducts(SerialNumbers serialNumbers) {
+        forProducts = serialNumbers;
+    }
+
+    /**
+     * @return true if a serial number is given to every product created from now on
+     */
+    public static boolean isUsedForProducts() {
+        return null != forProducts;
+    }
+
+    /**
+     * @return a serial number for a new product, 0 if no serial numbers are used for the products
+     */
+    public static long nextForProduct() {
+        SerialNumbers serialNumbers = forProducts;
+        return null == serialNumbers ? 0 : serialNumbers.next();
+    }
+
+    /**
+     * @return a new serial number, unique for the file, greater than the previous one of the calling thread
+     */
+    public long next() {
+        Block block = blocks.get();
+        if (block.next == block.end) {
+            reserve(block);
+        }
+        return block.next++;
+    }
+
+    /**
+     * Release the file: the serial numbers cannot be used anymore.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            lock.release();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void reserve(Block block) {
+        long start = reserved.getAndAdd(blockSize);
+        long end = start + blockSize;
+        if (end > persisted) {
+            persist(end);
+        }
+        block.next = start;
+        block.end = end;
+    }
+
+    // write a mark at or above `end` and fsync it, once for the threads waiting for the same mark
+    private synchronized void persist(long end) {
+        if (end <= persisted) {
+            return;
+        }
+        long mark = end + syncAhead;
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        buffer.putLong(0, mark);
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, buffer.position());
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot persist the serial number mark to " + file, e);
+        }
+        persisted = mark;
+    }
+
+    private void closeQuietly(Exception cause) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    // the serials [next, end) of a thread
+    private static final class Block {
+        long next;
+        long end;
+    }
+}
@@ -25,7 +25,7 @@ public class EagerSingleton {
  * 3. no performance overhead during `getInstance()`, as the instance is created at the time of class loading
  * <p>
  * Cons:
- * 1. may waste resources due to prematurely creation, especially for the resource-heavy singleton classes with large caches or database connections
+ * 1. may waste resources due to prematurely creation, especially for the resource-heavy singleton classes with large caches or database connections (measured by `FootprintReporter`)
  * 2. lack of lazy initialization
  * 3. inflexible to handle exceptions during the class creation using static constant
  * <p>
@@ -1,5 +1,7 @@
 package com.sissilab.dp.ox1_creational.ox11_singleton;
 
+import com.sissilab.dp.ox1_creational.ox11_singleton.support.InitTracker;
+
 /**
  * 2. Eager Singleton Wasting Reason
  * - 2.1. Eager Singleton Wasting Reason - static constant
@@ -35,6 +37,16 @@ public class EagerSingletonWastingReason {
         LazySingletonDoubleCheckSample: print test...
          */
         LazySingletonDoubleCheckSample.print(); // it just executes `print()` without triggering the class creation
+
+        System.out.println("\n");
+
+        /*
+        Eager singleton initialization report (2 singletons, most expensive first):
+        #      self(ms)  total(ms)  singleton                       thread   triggered by
+        1         0.123      0.123  ...EagerSingletonWastingReasonStaticConstant  main  ...EagerSingletonWastingReason.main(EagerSingletonWastingReason.java:22)
+        2         ...
+         */
+        InitTracker.printReport(System.out); // what the eager singletons cost, and which `print()` call triggered them
     }
 
 }
@@ -45,7 +57,7 @@ public class EagerSingletonWastingReason {
 class EagerSingletonWastingReasonStaticConstant {
 
     // holds the singleton instance: initialized when loading the class
-    private static final EagerSingletonWastingReasonStaticConstant instance = new EagerSingletonWastingReasonStaticConstant();
+    private static final EagerSingletonWastingReasonStaticConstant instance = InitTracker.track(EagerSingletonWastingReasonStaticConstant.class, EagerSingletonWastingReasonStaticConstant::new);
 
     // private constructor: restricts users from creating instances themselves.
     private EagerSingletonWastingReasonStaticConstant() {
@@ -74,7 +86,7 @@ class EagerSingletonWastingReasonStaticBlock {
 
     static {
         System.out.println("EagerSingletonWastingReasonStaticBlock: static block start...");
-        instance = new EagerSingletonWastingReasonStaticBlock();
+        instance = InitTracker.track(EagerSingletonWastingReasonStaticBlock.class, EagerSingletonWastingReasonStaticBlock::new);
         System.out.println("EagerSingletonWastingReasonStaticBlock: static block end!");
     }
 
@@ -10,6 +10,8 @@ import java.io.Serializable;
  * - 1.3. Lazy Singleton - Delay Lock (unavailable in a multi-threaded environment)
  * - 1.4. Lazy Singleton - Double-checked Locking Without volatile (unavailable in a multi-threaded environment)
  * - 1.5. Lazy Singleton - Double-checked Locking (perfect ❤️)
+ * <p>
+ * The `getInstance()` cost of every variant can be measured with `SingletonBenchmark` (JMH, under src/test).
  */
 public class LazySingleton {
 }
@@ -16,13 +16,13 @@ import java.io.Serializable;
  * 4. relatively easier to understand compared to the DCL pattern
  * <p>
  * Cons:
- * 1. inflexible to handle exceptions during the class creation
+ * 1. inflexible to handle exceptions during the class creation (the holder class is left broken with `NoClassDefFoundError`)
  * 2. unexpected issues due to class loading timing
  * <p>
  * Best Use Cases:
  * 1. Use it when the singleton class holds heavy resources.
  * 2. Use it when we want to delay the creation of the singleton instance until it is actually needed.
- * 3. Avoid it when we require complex initialization steps
+ * 3. Avoid it when we require complex initialization steps, or when the creation may fail (use `support.FailureAwareLazy` instead)
  */
 public class StaticInnerClassSingleton {
 
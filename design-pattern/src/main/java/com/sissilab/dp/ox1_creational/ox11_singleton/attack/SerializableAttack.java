@@ -27,7 +27,7 @@ public class SerializableAttack {
      * 序列化
      */
     private static <T> void serialize(T instance) throws IOException {
-        ObjectOutputStream objectOutputStream = new ObjectOutputStream(new FileOutputStream("TestSerializable"));
+        ObjectOutputStream objectOutputStream = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream("TestSerializable")));
         objectOutputStream.writeObject(instance);
         objectOutputStream.close();
     }
@@ -36,7 +36,7 @@ public class SerializableAttack {
      * 反序列化：不会调用构造函数，从字节流中读取数据进行初始化
      */
     private static <T> void deserialize(T instance) throws IOException, ClassNotFoundException {
-        ObjectInputStream objectInputStream = new ObjectInputStream(new FileInputStream("TestSerializable"));
+        ObjectInputStream objectInputStream = new ObjectInputStream(new BufferedInputStream(new FileInputStream("TestSerializable")));
         T testSerializableInstance = ((T) objectInputStream.readObject());
         System.out.println(instance == testSerializableInstance);
     }
@@ -1,5 +1,8 @@
 package com.sissilab.dp.ox1_creational.ox11_singleton.perfect;
 
+import com.sissilab.dp.ox1_creational.ox11_singleton.support.InitTracker;
+import com.sissilab.dp.ox1_creational.ox11_singleton.support.SingletonEvents;
+
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 
@@ -10,14 +13,15 @@ import java.io.Serializable;
  * 3. Using defined serialVersionUID and readResolve() to prevent serialization attacks
  * 4. Overriding clone() to prevent cloning attacks
  * 5. Using final class to prevent subclassing and avoid any subclass to break the singleton pattern
+ * 6. Using writeReplace() to serialize a compact `SingletonToken` instead of the instance itself
  */
 public final class EagerSingletonStaticConstantPerfect implements Serializable {
 
     // Explicitly defining `serialVersionUID` can avoid potential incompatibility issues.
     private static final long serialVersionUID = -1L;
 
-    // holds the singleton instance: initialized when loading the class
-    private static final EagerSingletonStaticConstantPerfect instance = new EagerSingletonStaticConstantPerfect();
+    // holds the singleton instance: initialized when loading the class, the creation cost is recorded by `InitTracker`
+    private static final EagerSingletonStaticConstantPerfect instance = InitTracker.track(EagerSingletonStaticConstantPerfect.class, EagerSingletonStaticConstantPerfect::new);
 
     // private constructor: restricts users from creating instances themselves.
     private EagerSingletonStaticConstantPerfect() {
@@ -35,13 +39,20 @@ public final class EagerSingletonStaticConstantPerfect implements Serializable {
     // Prevent serialization attacks
     private Object readResolve() throws ObjectStreamException {
         // during deserialization: returning the existing instance, instead of creating a new one.
+        SingletonEvents.intercepted(EagerSingletonStaticConstantPerfect.class, "readResolve");
         return getInstance();
     }
 
+    // compact serialized form: only a type tag, resolved to `getInstance()` when deserializing
+    private Object writeReplace() throws ObjectStreamException {
+        return SingletonToken.of(SingletonToken.Type.EAGER_SINGLETON_STATIC_CONSTANT);
+    }
+
     // Prevent cloning
     @Override
     protected Object clone() throws CloneNotSupportedException {
         // (1) throw an exception to prevent cloning
+        SingletonEvents.intercepted(EagerSingletonStaticConstantPerfect.class, "clone");
         throw new CloneNotSupportedException("Cloning of this singleton instance is not allowed");
         // (2) or directly return the same instance from the clone method
         //return getInstance();
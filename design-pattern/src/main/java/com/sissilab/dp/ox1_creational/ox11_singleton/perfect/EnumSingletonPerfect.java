@@ -1,5 +1,7 @@
 package com.sissilab.dp.ox1_creational.ox11_singleton.perfect;
 
+import com.sissilab.dp.ox1_creational.ox11_singleton.support.WarmUp;
+
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -9,12 +11,18 @@ import java.util.concurrent.TimeUnit;
 public enum EnumSingletonPerfect {
     instance;
 
+    EnumSingletonPerfect() {
+        // opt-in pre-warming: the heavy resource is only initialized in the background once `WarmUp.instance.start()` is called
+        WarmUp.instance.register("EnumSingletonPerfect.HeavyResource", this::getExpensiveResource);
+    }
+
     public void anyMethod() {
     }
 
     /**
      * Access the lazy-loaded resource:
      * `EnumSingletonPerfect.instance.getExpensiveResource().useResource();`
+     * If the warm-up is in progress, the caller waits for it (class initialization lock of `LazyHeavyResource`) instead of initializing it again.
      */
     // Using a static inner class to implement lazy loading of heavy resources
     private static class LazyHeavyResource {
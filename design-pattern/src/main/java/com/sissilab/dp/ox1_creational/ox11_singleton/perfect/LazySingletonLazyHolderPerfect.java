@@ -0,0 +1,61 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.perfect;
+
+import com.sissilab.dp.ox1_creational.ox11_singleton.support.Lazy;
+import com.sissilab.dp.ox1_creational.ox11_singleton.support.SingletonEvents;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+/**
+ * Lazy Singleton - Lazy holder: Perfect Version
+ * 1. Delegating to `Lazy` instead of hand-written DCL: a single volatile read on the fast path and a CAS-based single-flight slow path,
+ * so no class-level monitor is taken even on the first access
+ * 2. Trying to use the private constructor checks to prevent reflection attacks, but cannot guarantee in all cases
+ * 3. Using defined serialVersionUID and readResolve() to prevent serialization attacks
+ * 4. Overriding clone() to prevent cloning attacks
+ * 5. Using final class to prevent subclassing and avoid any subclass to break the singleton pattern
+ * 6. Using writeReplace() to serialize a compact `SingletonToken` instead of the instance itself
+ */
+public final class LazySingletonLazyHolderPerfect implements Serializable {
+
+    // Explicitly defining `serialVersionUID` can avoid potential incompatibility issues.
+    private static final long serialVersionUID = -1L;
+
+    // holds the singleton instance: created by the first `getInstance()` call
+    private static final Lazy<LazySingletonLazyHolderPerfect> instance = Lazy.of(LazySingletonLazyHolderPerfect::new);
+
+    // private constructor: restricts users from creating instances themselves.
+    private LazySingletonLazyHolderPerfect() {
+        // cannot prevent reflection attacks in all cases
+        if (instance.isInitialized()) {
+            throw new IllegalStateException("This singleton instance already exists.");
+        }
+    }
+
+    // controls access to the singleton instance
+    public static LazySingletonLazyHolderPerfect getInstance() {
+        return instance.get();
+    }
+
+    // Prevent serialization attacks
+    private Object readResolve() throws ObjectStreamException {
+        // during deserialization: returning the existing instance, instead of creating a new one.
+        SingletonEvents.intercepted(LazySingletonLazyHolderPerfect.class, "readResolve");
+        return getInstance();
+    }
+
+    // compact serialized form: only a type tag, resolved to `getInstance()` when deserializing
+    private Object writeReplace() throws ObjectStreamException {
+        return SingletonToken.of(SingletonToken.Type.LAZY_SINGLETON_LAZY_HOLDER);
+    }
+
+    // Prevent cloning
+    @Override
+    protected Object clone() throws CloneNotSupportedException {
+        // (1) throw an exception to prevent cloning
+        SingletonEvents.intercepted(LazySingletonLazyHolderPerfect.class, "clone");
+        throw new CloneNotSupportedException("Cloning of this singleton instance is not allowed");
+        // (2) or directly return the same instance from the clone method
+        //return getInstance();
+    }
+}
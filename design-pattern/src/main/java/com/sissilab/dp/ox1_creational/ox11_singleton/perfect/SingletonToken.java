@@ -0,0 +1,83 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.perfect;
+
+import com.sissilab.dp.ox1_creational.ox11_singleton.support.SingletonEvents;
+
+import java.io.*;
+import java.util.function.Supplier;
+
+/**
+ * Singleton Token: the compact serialized form of the perfect singletons.
+ * <p>
+ * With the default serialization, `readResolve()` prevents the serialization attack, but the stream still carries the class
+ * descriptor of the singleton (fields included) and a new instance is allocated only to be discarded by `readResolve()`.
+ * <p>
+ * Instead, each perfect singleton replaces itself with a token in `writeReplace()`:
+ * 1. the token is Externalizable: no field descriptors, its body is a single type tag byte
+ * 2. on deserialization, `readResolve()` of the token returns the canonical instance directly via `getInstance()`
+ * 3. the tag is the ordinal of `Type`: only append new constants, never reorder or remove them
+ * <p>
+ * Streams written before the token existed still contain the singleton itself and are resolved by its own `readResolve()`.
+ */
+public final class SingletonToken implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Serializable singletons which can be replaced by a token: never reorder, the ordinal is written to the stream.
+     */
+    enum Type {
+        LAZY_SINGLETON_DOUBLE_CHECK(LazySingletonDoubleCheckPerfect::getInstance),
+        LAZY_SINGLETON_LAZY_HOLDER(LazySingletonLazyHolderPerfect::getInstance),
+        STATIC_INNER_SINGLETON(StaticInnerSingletonPerfect::getInstance),
+        EAGER_SINGLETON_STATIC_CONSTANT(EagerSingletonStaticConstantPerfect::getInstance),
+        EAGER_SINGLETON_STATIC_BLOCK(EagerSingletonStaticBlockPerfect::getInstance);
+
+        // tag -> type, without the array copy of `values()`
+        private static final Type[] TAGS = values();
+
+        private final Supplier<Object> canonical;
+
+        // one shared immutable token per type: `writeReplace()` does not allocate
+        private final SingletonToken token;
+
+        Type(Supplier<Object> canonical) {
+            this.canonical = canonical;
+            this.token = new SingletonToken(this);
+        }
+    }
+
+    private Type type;
+
+    // required by Externalizable: called when deserializing, then `readExternal()` fills the tag
+    public SingletonToken() {
+    }
+
+    private SingletonToken(Type type) {
+        this.type = type;
+    }
+
+    static SingletonToken of(Type type) {
+        return type.token;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(type.ordinal());
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        int tag = in.readUnsignedByte();
+        if (tag >= Type.TAGS.length) {
+            throw new InvalidObjectException("Unknown singleton tag: " + tag);
+        }
+        type = Type.TAGS[tag];
+    }
+
+    // during deserialization: returning the canonical instance instead of the token
+    private Object readResolve() throws ObjectStreamException {
+        Object canonical = type.canonical.get();
+        SingletonEvents.intercepted(canonical.getClass(), "readResolve");
+        return canonical;
+    }
+}
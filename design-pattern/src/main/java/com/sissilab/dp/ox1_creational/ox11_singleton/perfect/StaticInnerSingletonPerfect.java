@@ -1,5 +1,7 @@
 package com.sissilab.dp.ox1_creational.ox11_singleton.perfect;
 
+import com.sissilab.dp.ox1_creational.ox11_singleton.support.SingletonEvents;
+
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 
@@ -10,6 +12,7 @@ import java.io.Serializable;
  * 3. Using defined serialVersionUID and readResolve() to prevent serialization attacks
  * 4. Overriding clone() to prevent cloning attacks
  * 5. Using final class to prevent subclassing and avoid any subclass to break the singleton pattern
+ * 6. Using writeReplace() to serialize a compact `SingletonToken` instead of the instance itself
  */
 public final class StaticInnerSingletonPerfect implements Serializable {
 
@@ -37,13 +40,20 @@ public final class StaticInnerSingletonPerfect implements Serializable {
     // prevent serialization attacks
     Object readResolve() throws ObjectStreamException {
         // during deserialization: returning the existing instance, instead of creating a new one.
+        SingletonEvents.intercepted(StaticInnerSingletonPerfect.class, "readResolve");
         return getInstance();
     }
 
+    // compact serialized form: only a type tag, resolved to `getInstance()` when deserializing
+    private Object writeReplace() throws ObjectStreamException {
+        return SingletonToken.of(SingletonToken.Type.STATIC_INNER_SINGLETON);
+    }
+
     // Prevent cloning
     @Override
     protected Object clone() throws CloneNotSupportedException {
         // (1) throw an exception to prevent cloning
+        SingletonEvents.intercepted(StaticInnerSingletonPerfect.class, "clone");
         throw new CloneNotSupportedException("Cloning of this singleton instance is not allowed");
         // (2) or directly return the same instance from the clone method
         //return getInstance();
@@ -0,0 +1,301 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Evictable Lazy: a lazy holder of a heavy singleton resource which can release it and transparently rebuild it later.
+ * <p>
+ * A static holder (e.g. `LazyHeavyResource` of `EnumSingletonPerfect`) pins its resource for the life of the JVM,
+ * even if it is only used once an hour. Here the resource can be evicted:
+ * 1. idle timeout: when it has not been accessed for a whole timeout period
+ * 2. memory pressure: when an old generation pool stays above a threshold after a GC (MemoryPoolMXBean threshold notification),
+ * enabled globally with `EvictableLazy.evictOnMemoryPressure(0.8)`
+ * 3. soft reference (optional): the GC itself clears the resource before throwing OutOfMemoryError
+ * <p>
+ * After an eviction, the next `get()` rebuilds the resource under single-flight (each generation is a `Lazy`).
+ * Callers already holding the old resource keep using it: it is only garbage collected once they are done.
+ * <p>
+ * The sweeper only holds a holder weakly: an unreachable holder is garbage collected, and its idle check is then cancelled.
+ * <p>
+ * Use it:
+ * `private static final EvictableLazy<HeavyResource> RESOURCE = EvictableLazy.of(HeavyResource::new, Duration.ofMinutes(10), true);`
+ *
+ * @param <T> the type of the resource, which must not be null
+ */
+public final class EvictableLazy<T> implements Supplier<T> {
+
+    // checks the idle timeouts: created on the first holder with an idle timeout
+    private static final Lazy<ScheduledThreadPoolExecutor> SWEEPER = Lazy.of(() -> {
+        ScheduledThreadPoolExecutor sweeper = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "evictable-lazy-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // the idle checks of the collected holders leave the queue as soon as they are cancelled
+        sweeper.setRemoveOnCancelPolicy(true);
+        return sweeper;
+    });
+
+    private static final AtomicBoolean MEMORY_PRESSURE_LISTENING = new AtomicBoolean();
+
+    private final Supplier<? extends T> supplier;
+
+    private final boolean softReference;
+
+    // the current generation: replaced by an empty one on eviction
+    private final AtomicReference<Generation<T>> generation = new AtomicReference<>();
+
+    private final LongAdder creations = new LongAdder();
+    private final LongAdder idleEvictions = new LongAdder();
+    private final LongAdder memoryPressureEvictions = new LongAdder();
+    private final LongAdder gcEvictions = new LongAdder();
+
+    private EvictableLazy(Supplier<? extends T> supplier, Duration idleTimeout, boolean softReference, EvictionGroup group) {
+        this.supplier = Objects.requireNonNull(supplier, "supplier");
+        this.softReference = softReference;
+        this.generation.set(new Generation<>(this::create));
+        group.add(this);
+        if (null != idleTimeout) {
+            // idle if a whole period went by without any access, so the resource lives between 1 and 2 timeouts after its last use
+            long period = Math.max(1, idleTimeout.toMillis());
+            IdleCheck check = new IdleCheck(this);
+            check.future = SWEEPER.get().scheduleAtFixedRate(check, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @param idleTimeout   evict after this idle time, null to disable
+     * @param softReference hold the resource through a SoftReference, so that the GC may clear it under memory pressure
+     */
+    public static <T> EvictableLazy<T> of(Supplier<? extends T> supplier, Duration idleTimeout, boolean softReference) {
+        return of(supplier, idleTimeout, softReference, EvictionGroup.GLOBAL);
+    }
+
+    // a holder evicted on memory pressure with the other members of `group` only
+    static <T> EvictableLazy<T> of(Supplier<? extends T> supplier, Duration idleTimeout, boolean softReference, EvictionGroup group) {
+        return new EvictableLazy<>(supplier, idleTimeout, softReference, group);
+    }
+
+    /**
+     * Evict every EvictableLazy when a heap pool is still above `usageFraction` of its max size after a GC.
+     * It sets the collection usage threshold of the heap pools, so it should be called once, e.g. at application start.
+     */
+    public static void evictOnMemoryPressure(double usageFraction) {
+        if (usageFraction <= 0 || usageFraction >= 1) {
+            throw new IllegalArgumentException("usageFraction must be in (0, 1): " + usageFraction);
+        }
+        if (!MEMORY_PRESSURE_LISTENING.compareAndSet(false, true)) {
+            return;
+        }
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long max = pool.getUsage().getMax();
+            if (MemoryType.HEAP == pool.getType() && pool.isCollectionUsageThresholdSupported() && max > 0) {
+                pool.setCollectionUsageThreshold((long) (max * usageFraction));
+            }
+        }
+        NotificationEmitter emitter = (NotificationEmitter) ManagementFactory.getMemoryMXBean();
+        emitter.addNotificationListener(EvictionGroup.GLOBAL, null, null);
+    }
+
+    // evicts every instance: called on memory pressure
+    static void evictAll() {
+        EvictionGroup.GLOBAL.evictAll();
+    }
+
+    /**
+     * Get the resource, (re)building it if it has never been created or has been evicted.
+     */
+    @Override
+    public T get() {
+        for (; ; ) {
+            Generation<T> current = generation.get();
+            // single-flight: concurrent callers of the same generation wait for the same creation
+            T v = current.holder.get().get();
+            if (null != v) {
+                if (!current.accessed) {
+                    current.accessed = true;
+                }
+                return v;
+            }
+            // the soft reference has been cleared by the GC
+            if (generation.compareAndSet(current, new Generation<>(this::create))) {
+                gcEvictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Release the resource now, the next `get()` rebuilds it.
+     *
+     * @return whether a created resource has been evicted
+     */
+    public boolean evict() {
+        Generation<T> current = generation.get();
+        return current.holder.isInitialized() && generation.compareAndSet(current, new Generation<>(this::create));
+    }
+
+    public boolean isCreated() {
+        return generation.get().holder.isInitialized();
+    }
+
+    public Stats stats() {
+        return new Stats(creations.sum(), idleEvictions.sum(), memoryPressureEvictions.sum(), gcEvictions.sum());
+    }
+
+    private Supplier<T> create() {
+        T v = Objects.requireNonNull(supplier.get(), "EvictableLazy supplier returned null");
+        creations.increment();
+        if (softReference) {
+            return new SoftReference<>(v)::get;
+        }
+        return () -> v;
+    }
+
+    private void evictIfIdle() {
+        Generation<T> current = generation.get();
+        if (!current.holder.isInitialized()) {
+            return;
+        }
+        if (current.accessed) {
+            // accessed during the last period: start a new period
+            current.accessed = false;
+        } else if (evict()) {
+            idleEvictions.increment();
+        }
+    }
+
+    // the periodic idle check of a holder: holds it weakly, and cancels itself once the holder has been collected
+    private static final class IdleCheck implements Runnable {
+        private final WeakReference<EvictableLazy<?>> holder;
+
+        // set right after scheduling, before the first run
+        volatile ScheduledFuture<?> future;
+
+        IdleCheck(EvictableLazy<?> holder) {
+            this.holder = new WeakReference<>(holder);
+        }
+
+        @Override
+        public void run() {
+            EvictableLazy<?> lazy = holder.get();
+            if (null != lazy) {
+                lazy.evictIfIdle();
+            } else if (null != future) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    // the holders evicted together on memory pressure: every holder belongs to GLOBAL, except in tests
+    static final class EvictionGroup implements NotificationListener {
+        static final EvictionGroup GLOBAL = new EvictionGroup();
+
+        // weak keys, so that an unreachable holder without idle timeout can still be collected
+        private final Set<EvictableLazy<?>> members = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+        void add(EvictableLazy<?> lazy) {
+            members.add(lazy);
+        }
+
+        void evictAll() {
+            EvictableLazy<?>[] instances;
+            synchronized (members) {
+                instances = members.toArray(new EvictableLazy<?>[0]);
+            }
+            for (EvictableLazy<?> instance : instances) {
+                if (instance.evict()) {
+                    instance.memoryPressureEvictions.increment();
+                }
+            }
+        }
+
+        // MemoryMXBean notifications: a heap pool is still above its threshold after a GC
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+                evictAll();
+            }
+        }
+    }
+
+    // one lifetime of the resource, between two evictions
+    private static final class Generation<T> {
+        final Lazy<Supplier<T>> holder;
+
+        // set by `get()`, cleared by the sweeper: a write only happens once per period, not on every access
+        volatile boolean accessed = true;
+
+        Generation(Supplier<Supplier<T>> creation) {
+            this.holder = Lazy.of(creation);
+        }
+    }
+
+    /**
+     * A snapshot of the eviction counters.
+     */
+    public static final class Stats {
+        private final long creations;
+        private final long idleEvictions;
+        private final long memoryPressureEvictions;
+        private final long gcEvictions;
+
+        Stats(long creations, long idleEvictions, long memoryPressureEvictions, long gcEvictions) {
+            this.creations = creations;
+            this.idleEvictions = idleEvictions;
+            this.memoryPressureEvictions = memoryPressureEvictions;
+            this.gcEvictions = gcEvictions;
+        }
+
+        // the first creation and every rebuild after an eviction
+        public long getCreations() {
+            return creations;
+        }
+
+        public long getRebuilds() {
+            return Math.max(0, creations - 1);
+        }
+
+        public long getIdleEvictions() {
+            return idleEvictions;
+        }
+
+        public long getMemoryPressureEvictions() {
+            return memoryPressureEvictions;
+        }
+
+        // soft references cleared by the GC
+        public long getGcEvictions() {
+            return gcEvictions;
+        }
+
+        public long getEvictions() {
+            return idleEvictions + memoryPressureEvictions + gcEvictions;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{creations=" + creations + ", idleEvictions=" + idleEvictions
+                    + ", memoryPressureEvictions=" + memoryPressureEvictions + ", gcEvictions=" + gcEvictions + "}";
+        }
+    }
+}
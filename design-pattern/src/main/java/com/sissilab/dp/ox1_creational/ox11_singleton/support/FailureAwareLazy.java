@@ -0,0 +1,157 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Failure Aware Lazy: single-flight lazy initialization which caches the failure and backs off before the next attempt.
+ * <p>
+ * How the other singletons behave when the creation throws:
+ * - static inner class / eager singleton: the class is left in an erroneous state, every later access throws `NoClassDefFoundError`
+ * - DCL / `Lazy`: every caller retries immediately, so during an outage of the backend the failing creation is hammered
+ * <p>
+ * Here:
+ * 1. exactly one thread attempts the creation, callers arriving meanwhile wait for the outcome of that attempt
+ * 2. after a failure, callers get the cached failure immediately (IllegalStateException with the failure as its cause)
+ * 3. the next attempt is only allowed after a backoff, doubled after each consecutive failure up to `maxBackoff`
+ * 4. once created, the fast path is a single volatile read, like `Lazy`
+ * 5. a recursive `get()` from inside the supplier fails fast with an IllegalStateException instead of waiting for itself
+ * <p>
+ * Use it:
+ * `private static final FailureAwareLazy<Connection> CONNECTION = FailureAwareLazy.of(Connection::open, Duration.ofMillis(100), Duration.ofSeconds(30));`
+ *
+ * @param <T> the type of the lazily created value, which must not be null
+ */
+public final class FailureAwareLazy<T> implements Supplier<T> {
+
+    // holds the created value: null means it has not been created yet
+    private volatile T value;
+
+    // null (never attempted) | Attempt (in flight) | Failure (last attempt failed)
+    private final AtomicReference<Object> state = new AtomicReference<>();
+
+    private final Supplier<? extends T> supplier;
+
+    private final long initialBackoffNanos;
+
+    private final long maxBackoffNanos;
+
+    private FailureAwareLazy(Supplier<? extends T> supplier, Duration initialBackoff, Duration maxBackoff) {
+        this.supplier = Objects.requireNonNull(supplier, "supplier");
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = Math.max(initialBackoffNanos, maxBackoff.toNanos());
+    }
+
+    public static <T> FailureAwareLazy<T> of(Supplier<? extends T> supplier, Duration initialBackoff, Duration maxBackoff) {
+        return new FailureAwareLazy<>(supplier, initialBackoff, maxBackoff);
+    }
+
+    /**
+     * Get the value, creating it if needed.
+     *
+     * @throws IllegalStateException if the creation failed and the backoff has not elapsed yet, or if the awaited attempt failed
+     */
+    @Override
+    public T get() {
+        // fast path: a single volatile read
+        T v = value;
+        if (null != v) {
+            return v;
+        }
+        return getSlowPath();
+    }
+
+    public boolean isInitialized() {
+        return null != value;
+    }
+
+    private T getSlowPath() {
+        for (; ; ) {
+            T v = value;
+            if (null != v) {
+                return v;
+            }
+            Object current = state.get();
+            int failures = 0;
+            if (current instanceof Attempt) {
+                @SuppressWarnings("unchecked")
+                Attempt<T> attempt = (Attempt<T>) current;
+                if (attempt.owner == Thread.currentThread()) {
+                    throw new IllegalStateException("Recursive initialization: the supplier calls get() on its own FailureAwareLazy");
+                }
+                return await(attempt);
+            }
+            if (current instanceof Failure) {
+                Failure failure = (Failure) current;
+                long remaining = failure.retryAtNanos - System.nanoTime();
+                if (remaining > 0) {
+                    throw new IllegalStateException("Initialization failed " + failure.failures + " time(s), next attempt allowed in "
+                            + TimeUnit.NANOSECONDS.toMillis(remaining) + " ms", failure.cause);
+                }
+                failures = failure.failures;
+            }
+            Attempt<T> attempt = new Attempt<>();
+            if (state.compareAndSet(current, attempt)) {
+                return run(attempt, failures);
+            }
+        }
+    }
+
+    // only executed by the thread which installed `attempt`
+    private T run(Attempt<T> attempt, int failures) {
+        T v;
+        try {
+            v = Objects.requireNonNull(supplier.get(), "FailureAwareLazy supplier returned null");
+        } catch (Throwable e) {
+            int consecutiveFailures = failures + 1;
+            state.set(new Failure(e, System.nanoTime() + backoffNanos(consecutiveFailures), consecutiveFailures));
+            attempt.result.completeExceptionally(e);
+            throw e;
+        }
+        value = v;
+        attempt.result.complete(v);
+        return v;
+    }
+
+    private T await(Attempt<T> attempt) {
+        try {
+            return attempt.result.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Initialization failed in another thread", e.getCause());
+        }
+    }
+
+    // initialBackoff * 2^(failures - 1), capped to maxBackoff
+    private long backoffNanos(int failures) {
+        long backoff = initialBackoffNanos;
+        for (int i = 1; i < failures && backoff < maxBackoffNanos; i++) {
+            backoff <<= 1;
+        }
+        return Math.min(backoff, maxBackoffNanos);
+    }
+
+    // an attempt in flight: the other callers wait for its result
+    private static final class Attempt<T> {
+        // the thread creating the value, which must not wait for itself
+        final Thread owner = Thread.currentThread();
+        final CompletableFuture<T> result = new CompletableFuture<>();
+    }
+
+    // the cached failure of the last attempt
+    private static final class Failure {
+        final Throwable cause;
+        final long retryAtNanos;
+        final int failures;
+
+        Failure(Throwable cause, long retryAtNanos, int failures) {
+            this.cause = cause;
+            this.retryAtNanos = retryAtNanos;
+            this.failures = failures;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Host Singleton: one build of a heavy state per host, shared by every JVM through a memory-mapped file.
+ * <p>
+ * A singleton is only unique per class loader: several JVMs of the same application on a host all build the same heavy
+ * state (e.g. the `HeavyResource` of `EnumSingletonPerfect`), paying its memory and its warm-up CPU once per process. Here:
+ * 1. the processes elect a builder with an exclusive `FileChannel.lock` on `<name>.lock` in a well-known directory
+ * 2. the elected process builds the state, encodes it into a memory-mapped temporary file, forces it to disk,
+ * then atomically renames it to `<name>.dat`: the data file is either absent or complete
+ * 3. the other processes (and later starts) map `<name>.dat` read-only and decode it instead of building it: the pages
+ * of a read-only mapping are shared through the page cache, so the state is in memory once per host
+ * 4. the builder maps the published file as well, then in each process the decoded value is cached: the fast path is a single volatile read
+ * <p>
+ * The decoder receives a read-only view of the mapped file: decoding lazily from it (e.g. a lookup table read by index)
+ * keeps the state off the heap of every process. The data file is not versioned: delete it with `invalidate()`
+ * when the format or the content of the state changes.
+ * <p>
+ * Use it:
+ * `private static final HostSingleton<Table> TABLE = HostSingleton.of(Paths.get("/var/run/app"), "table", Table::build, Table::encode, Table::new);`
+ *
+ * @param <T> the type of the state, which must not be null
+ */
+public final class HostSingleton<T> implements Supplier<T> {
+
+    private final Path directory;
+
+    private final Path lockFile;
+
+    private final Path dataFile;
+
+    private final Supplier<? extends T> factory;
+
+    private final Function<? super T, ByteBuffer> encoder;
+
+    private final Function<ByteBuffer, ? extends T> decoder;
+
+    // the decoded state of this process: null means not loaded yet
+    private volatile T value;
+
+    // whether the state has been built by this process, rather than mapped from another one's build
+    private volatile boolean built;
+
+    private HostSingleton(Path directory, String name, Supplier<? extends T> factory,
+                          Function<? super T, ByteBuffer> encoder, Function<ByteBuffer, ? extends T> decoder) {
+        this.directory = directory;
+        this.lockFile = directory.resolve(name + ".lock");
+        this.dataFile = directory.resolve(name + ".dat");
+        this.factory = Objects.requireNonNull(factory, "factory");
+        this.encoder = Objects.requireNonNull(encoder, "encoder");
+        this.decoder = Objects.requireNonNull(decoder, "decoder");
+    }
+
+    /**
+     * @param directory a directory shared by the processes of the host
+     * @param name      the name of the singleton, unique in the directory
+     * @param factory   builds the state, only called by the elected process
+     * @param encoder   encodes the state, from the position to the limit of the returned buffer
+     * @param decoder   decodes the state from a read-only view of the mapped data file
+     */
+    public static <T> HostSingleton<T> of(Path directory, String name, Supplier<? extends T> factory,
+                                          Function<? super T, ByteBuffer> encoder, Function<ByteBuffer, ? extends T> decoder) {
+        return new HostSingleton<>(Objects.requireNonNull(directory, "directory"), Objects.requireNonNull(name, "name"), factory, encoder, decoder);
+    }
+
+    /**
+     * Get the state: map the data file if another process already built it, otherwise build it under the host lock.
+     *
+     * @throws UncheckedIOException if the files cannot be read or written
+     */
+    @Override
+    public T get() {
+        // fast path: a single volatile read
+        T v = value;
+        if (null != v) {
+            return v;
+        }
+        return load();
+    }
+
+    public boolean isBuiltByThisProcess() {
+        return built;
+    }
+
+    /**
+     * Delete the data file under the host lock: the next process loading the singleton builds it again.
+     * The processes which already loaded it keep their state.
+     */
+    public void invalidate() {
+        synchronized (this) {
+            try (FileChannel lockChannel = openLockChannel()) {
+                // released by closing the channel
+                lockChannel.lock();
+                Files.deleteIfExists(dataFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // `FileChannel.lock` is held by the whole process: the threads of this process are serialized by the monitor first
+    private synchronized T load() {
+        T v = value;
+        if (null != v) {
+            return v;
+        }
+        try {
+            // published by another process: no lock needed, the rename makes the data file complete
+            v = map();
+            if (null == v) {
+                try (FileChannel lockChannel = openLockChannel()) {
+                    // released by closing the channel
+                    lockChannel.lock();
+                    // double check under the host lock: the builder may have published while we were waiting
+                    v = map();
+                    if (null == v) {
+                        build();
+                        v = map();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        value = v;
+        return v;
+    }
+
+    private FileChannel openLockChannel() throws IOException {
+        Files.createDirectories(directory);
+        return FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    // the decoded data file, or null if it does not exist yet
+    private T map() throws IOException {
+        if (!Files.exists(dataFile)) {
+            return null;
+        }
+        // the mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return Objects.requireNonNull(decoder.apply(buffer.asReadOnlyBuffer()), "HostSingleton decoder returned null");
+        }
+    }
+
+    // only called by the elected process, under the host lock: it then maps the data file like the others, the built state is garbage
+    private void build() throws IOException {
+        T v = Objects.requireNonNull(factory.get(), "HostSingleton factory returned null");
+        ByteBuffer encoded = encoder.apply(v);
+        Path tempFile = Files.createTempFile(directory, dataFile.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, encoded.remaining());
+                buffer.put(encoded);
+                buffer.force();
+            }
+            // readers see either no data file or a complete one
+            Files.move(tempFile, dataFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        built = true;
+    }
+}
@@ -0,0 +1,152 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Init Tracker: an explicit hook recording what each eager singleton costs at startup.
+ * <p>
+ * As shown in `EagerSingletonWastingReason`, any static access (even `print()`) triggers the `<clinit>` of an eager singleton
+ * and therefore its constructor. Wrapping the creation with this hook records:
+ * 1. the wall-clock duration of the creation, in total and excluding the nested singletons created meanwhile (self time)
+ * 2. the thread which ran the class initialization
+ * 3. the triggering call site: the first application frame that caused the `<clinit>`
+ * <p>
+ * Use it:
+ * - static constant: `private static final Xxx instance = InitTracker.track(Xxx.class, Xxx::new);`
+ * - static block: `static { instance = InitTracker.track(Xxx.class, Xxx::new); }`
+ * - at the end of the startup: `InitTracker.printReport(System.out);` ranks the most expensive eager singletons,
+ * which are the candidates to convert to a lazy holder.
+ */
+public final class InitTracker {
+
+    private static final Queue<Record> RECORDS = new ConcurrentLinkedQueue<>();
+
+    // creations in progress on the current thread, to compute the self time of nested singletons
+    private static final ThreadLocal<Deque<long[]>> IN_PROGRESS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private InitTracker() {
+    }
+
+    /**
+     * Create the singleton instance of `type` and record how long it took.
+     */
+    public static <T> T track(Class<?> type, Supplier<T> creation) {
+        String callSite = findCallSite(type);
+        Deque<long[]> inProgress = IN_PROGRESS.get();
+        // [0]: time spent in nested tracked creations
+        long[] nested = new long[1];
+        inProgress.push(nested);
+        long start = System.nanoTime();
+        try {
+            T created = creation.get();
+            SingletonEvents.created(type, start);
+            return created;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            inProgress.pop();
+            long[] parent = inProgress.peek();
+            if (null != parent) {
+                parent[0] += elapsed;
+            }
+            RECORDS.add(new Record(type.getName(), Thread.currentThread().getName(), callSite, elapsed, elapsed - nested[0]));
+        }
+    }
+
+    /**
+     * @return all records, the most expensive (self time) first
+     */
+    public static List<Record> report() {
+        List<Record> records = new ArrayList<>(RECORDS);
+        records.sort(Comparator.comparingLong(Record::getSelfNanos).reversed());
+        return records;
+    }
+
+    public static void printReport(PrintStream out) {
+        List<Record> records = report();
+        out.println("Eager singleton initialization report (" + records.size() + " singletons, most expensive first):");
+        out.printf("%-4s %10s %10s  %-60s %-20s %s%n", "#", "self(ms)", "total(ms)", "singleton", "thread", "triggered by");
+        int rank = 1;
+        for (Record record : records) {
+            out.printf("%-4d %10.3f %10.3f  %-60s %-20s %s%n", rank++,
+                    record.getSelfNanos() / 1e6, record.getTotalNanos() / 1e6,
+                    record.getSingleton(), record.getThread(), record.getCallSite());
+        }
+    }
+
+    /**
+     * The frame right below `<clinit>` of the singleton class is the access which triggered the class initialization.
+     * JDK frames (e.g. `Class.forName`, reflection) are skipped to point at application code.
+     */
+    private static String findCallSite(Class<?> type) {
+        StackTraceElement[] stack = new Throwable().getStackTrace();
+        int i = 0;
+        while (i < stack.length && !("<clinit>".equals(stack[i].getMethodName()) && type.getName().equals(stack[i].getClassName()))) {
+            i++;
+        }
+        if (i == stack.length) {
+            // not called from the static initializer of `type`: report the direct caller
+            i = 1;
+        }
+        for (i++; i < stack.length; i++) {
+            String className = stack[i].getClassName();
+            if (!className.startsWith("java.") && !className.startsWith("jdk.") && !className.startsWith("sun.")) {
+                return stack[i].toString();
+            }
+        }
+        return "unknown";
+    }
+
+    /**
+     * One tracked singleton creation.
+     */
+    public static final class Record {
+        private final String singleton;
+        private final String thread;
+        private final String callSite;
+        private final long totalNanos;
+        private final long selfNanos;
+
+        Record(String singleton, String thread, String callSite, long totalNanos, long selfNanos) {
+            this.singleton = singleton;
+            this.thread = thread;
+            this.callSite = callSite;
+            this.totalNanos = totalNanos;
+            this.selfNanos = selfNanos;
+        }
+
+        public String getSingleton() {
+            return singleton;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        public String getCallSite() {
+            return callSite;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getSelfNanos() {
+            return selfNanos;
+        }
+
+        @Override
+        public String toString() {
+            return singleton + ": " + TimeUnit.NANOSECONDS.toMicros(selfNanos) + " us (self), "
+                    + TimeUnit.NANOSECONDS.toMicros(totalNanos) + " us (total), thread=" + thread + ", triggered by " + callSite;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+/**
+ * Padded Shard: base class of the shards of a `ShardedSingleton`.
+ * <p>
+ * The fields of a superclass are laid out before the fields of its subclass, so these 128 bytes of padding keep the fields
+ * of a shard away from the cache lines (and the adjacent line fetched by the prefetcher) of the previously allocated shard.
+ * Without it, the shards allocated one after another share cache lines and the writer threads still contend (false sharing).
+ */
+public abstract class PaddedShard {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p08, p09, p10, p11, p12, p13, p14, p15;
+}
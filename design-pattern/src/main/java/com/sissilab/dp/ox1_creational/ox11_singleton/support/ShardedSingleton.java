@@ -0,0 +1,125 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Sharded Singleton: a singleton holding mutable aggregates (counters, histograms, ...) split into per-core shards, like `LongAdder`.
+ * <p>
+ * The other singletons assume a stateless or read-mostly instance. When all threads write to the fields of the one shared
+ * instance, they contend on the same cache lines, whatever the synchronization (`synchronized`, `AtomicLong`, ...) is.
+ * Here:
+ * 1. the singleton is a fixed array of shards (a power of two, at least the number of processors)
+ * 2. `shard()` picks the shard of the current thread from a per-thread probe, seeded at random: thread ids are not
+ * consecutive (the JVM and the libraries create threads too), so they would not spread the threads of a pool
+ * 3. when a write finds its shard contended (a CAS fails), `update()` moves the thread to another shard through `contended()`,
+ * so the writer threads spread themselves over the shards, like the cells of `LongAdder`
+ * 4. the shards extend `PaddedShard` to avoid false sharing between them
+ * 5. reads merge all the shards: writes are cheap, reads are O(shards), which suits write-heavy statistics
+ * <p>
+ * Two threads may still share a shard, so a shard must be thread-safe (e.g. updated with atomics), but its updates are mostly uncontended.
+ * <p>
+ * Use it:
+ * `private static final ShardedSingleton<RequestStats> STATS = new ShardedSingleton<>(RequestStats::new);`
+ * - write: `STATS.update(shard -> shard.tryRecord(latency));`, `tryRecord` returning false when its CAS failed
+ * - read: `long count = STATS.merge(0L, (sum, shard) -> sum + shard.count());`
+ *
+ * @param <S> shard type
+ */
+public final class ShardedSingleton<S extends PaddedShard> {
+
+    // per-thread probe, shared by all the sharded singletons: [0] is never 0, as required by the xorshift
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(() -> new int[]{ThreadLocalRandom.current().nextInt() | 1});
+
+    private final Object[] shards;
+
+    private final int mask;
+
+    public ShardedSingleton(Supplier<? extends S> shardFactory) {
+        this(Runtime.getRuntime().availableProcessors(), shardFactory);
+    }
+
+    /**
+     * @param minShards rounded up to a power of two
+     */
+    public ShardedSingleton(int minShards, Supplier<? extends S> shardFactory) {
+        Objects.requireNonNull(shardFactory, "shardFactory");
+        if (minShards < 1 || minShards > (1 << 16)) {
+            throw new IllegalArgumentException("minShards must be in [1, 65536]: " + minShards);
+        }
+        int size = Integer.highestOneBit(minShards);
+        if (size < minShards) {
+            size <<= 1;
+        }
+        shards = new Object[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = Objects.requireNonNull(shardFactory.get(), "shardFactory returned null");
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * @return the shard of the current thread
+     */
+    @SuppressWarnings("unchecked")
+    public S shard() {
+        return (S) shards[PROBE.get()[0] & mask];
+    }
+
+    /**
+     * The shard of the current thread is contended: move the thread to another shard.
+     *
+     * @return the new shard of the current thread
+     */
+    @SuppressWarnings("unchecked")
+    public S contended() {
+        int[] probe = PROBE.get();
+        // xorshift: a pseudo-random walk over the shards
+        int p = probe[0];
+        p ^= p << 13;
+        p ^= p >>> 17;
+        p ^= p << 5;
+        probe[0] = p;
+        return (S) shards[p & mask];
+    }
+
+    /**
+     * Update the shard of the current thread, moving to another shard each time the update reports a contention.
+     *
+     * @param tryUpdate a single attempt, e.g. one CAS: false if it failed because of a concurrent write
+     */
+    public void update(Predicate<? super S> tryUpdate) {
+        S shard = shard();
+        while (!tryUpdate.test(shard)) {
+            shard = contended();
+        }
+    }
+
+    /**
+     * Merge all the shards, e.g. `merge(0L, (sum, shard) -> sum + shard.count())`.
+     * The result is not an atomic snapshot: concurrent writes may or may not be included.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R merge(R identity, BiFunction<R, ? super S, R> accumulator) {
+        R result = identity;
+        for (Object shard : shards) {
+            result = accumulator.apply(result, (S) shard);
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super S> action) {
+        for (Object shard : shards) {
+            action.accept((S) shard);
+        }
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+}
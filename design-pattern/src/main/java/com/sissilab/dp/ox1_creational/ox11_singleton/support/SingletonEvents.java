@@ -0,0 +1,41 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+/**
+ * Singleton Events: runtime telemetry of the singletons, emitted as JDK Flight Recorder events.
+ * <p>
+ * Emitted events (see the Java 11 version under src/main/java11, selected by the multi-release jar):
+ * 1. `com.sissilab.dp.singleton.Created`: an instance has been constructed, with its construction time
+ * 2. `com.sissilab.dp.singleton.SlowPath`: a thread entered the slow path of a lazy initialization (e.g. the lock of DCL),
+ * with the time it waited for the monitor or for the initializing thread
+ * 3. `com.sissilab.dp.singleton.Intercepted`: a `readResolve()` or `clone()` attack has been intercepted
+ * <p>
+ * The events are only emitted on the slow paths, never on the `getInstance()` fast path: they are cheap enough to stay
+ * enabled in production. Record them with `java -XX:StartFlightRecording=filename=app.jfr ...`, then summarize the
+ * recording with `SingletonEventsAnalyzer`.
+ * <p>
+ * This Java 8 version is a no-op: the JIT removes the calls.
+ */
+public final class SingletonEvents {
+
+    private SingletonEvents() {
+    }
+
+    /**
+     * The beginning of a timed section, to be passed to `created()` or `slowPath()`: a `System.nanoTime()` timestamp, not read in this no-op version.
+     */
+    public static long begin() {
+        return 0L;
+    }
+
+    public static void created(Class<?> singleton, long begin) {
+    }
+
+    public static void slowPath(Class<?> singleton, long begin) {
+    }
+
+    /**
+     * @param kind "readResolve" or "clone"
+     */
+    public static void intercepted(Class<?> singleton, String kind) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+/**
+ * Singleton Events Analyzer: summarizes the singleton events of a `.jfr` recording into per-singleton statistics.
+ * <p>
+ * Use it: `java -cp design-pattern.jar com.sissilab.dp.ox1_creational.ox11_singleton.support.SingletonEventsAnalyzer app.jfr`
+ * <p>
+ * This Java 8 version only reports that the analysis needs the `jdk.jfr` API of Java 11+ (see src/main/java11).
+ */
+public final class SingletonEventsAnalyzer {
+
+    private SingletonEventsAnalyzer() {
+    }
+
+    // only reports: exiting here would also stop an application calling it
+    public static void main(String[] args) {
+        System.err.println("Reading JDK Flight Recorder files requires Java 11+");
+    }
+}
@@ -0,0 +1,130 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Singleton Registry: one lazily created instance per key (e.g. per tenant or per data source),
+ * like `org.quartz.impl.SchedulerRepository` holds one scheduler per name.
+ * <p>
+ * Why not simply `ConcurrentHashMap.computeIfAbsent(key, factory)`?
+ * `computeIfAbsent` runs the factory while holding the lock of the hash bin, so a slow creation blocks
+ * every other key that shares the bin, both for lookups in progress and for their own creation.
+ * <p>
+ * Here the map only stores a `Lazy` per key, each key being its own stripe:
+ * 1. existing keys: `ConcurrentHashMap.get()` + the `Lazy` fast path, both lock-free
+ * 2. missing keys: `putIfAbsent()` of an empty `Lazy` (cheap, no user code under the bin lock),
+ * then the creation runs outside the map, single-flight per key
+ * 3. a slow or failing key never blocks the other keys; a failed creation is retried by the next caller
+ * <p>
+ * Hit, miss and creation-time counters are kept in `LongAdder`s so they do not add contention on the hot path.
+ *
+ * @param <K> key type
+ * @param <V> instance type
+ */
+public final class SingletonRegistry<K, V> {
+
+    private final ConcurrentMap<K, Lazy<V>> instances = new ConcurrentHashMap<>();
+
+    private final Function<? super K, ? extends V> factory;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder creations = new LongAdder();
+    private final LongAdder creationNanos = new LongAdder();
+
+    public SingletonRegistry(Function<? super K, ? extends V> factory) {
+        this.factory = Objects.requireNonNull(factory, "factory");
+    }
+
+    /**
+     * Get the instance of the key, creating it on the first call for this key.
+     */
+    public V get(K key) {
+        Objects.requireNonNull(key, "key");
+        Lazy<V> lazy = instances.get(key);
+        if (null != lazy && lazy.isInitialized()) {
+            hits.increment();
+            return lazy.get();
+        }
+        misses.increment();
+        if (null == lazy) {
+            Lazy<V> created = Lazy.of(() -> create(key));
+            lazy = instances.putIfAbsent(key, created);
+            if (null == lazy) {
+                lazy = created;
+            }
+        }
+        return lazy.get();
+    }
+
+    /**
+     * @return the instance of the key, or null if it has not been created (never triggers the creation)
+     */
+    public V getIfPresent(K key) {
+        Lazy<V> lazy = instances.get(key);
+        return null != lazy && lazy.isInitialized() ? lazy.get() : null;
+    }
+
+    public int size() {
+        return instances.size();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), creations.sum(), creationNanos.sum());
+    }
+
+    private V create(K key) {
+        long start = System.nanoTime();
+        V instance = factory.apply(key);
+        creationNanos.add(System.nanoTime() - start);
+        creations.increment();
+        return instance;
+    }
+
+    /**
+     * A snapshot of the registry counters.
+     */
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long creations;
+        private final long creationNanos;
+
+        Stats(long hits, long misses, long creations, long creationNanos) {
+            this.hits = hits;
+            this.misses = misses;
+            this.creations = creations;
+            this.creationNanos = creationNanos;
+        }
+
+        // `get()` calls returning an already created instance
+        public long getHits() {
+            return hits;
+        }
+
+        // `get()` calls which had to create the instance or wait for its creation
+        public long getMisses() {
+            return misses;
+        }
+
+        // successful creations
+        public long getCreations() {
+            return creations;
+        }
+
+        // total time spent in successful creations
+        public long getCreationNanos() {
+            return creationNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{hits=" + hits + ", misses=" + misses + ", creations=" + creations
+                    + ", creationMillis=" + creationNanos / 1_000_000 + "}";
+        }
+    }
+}
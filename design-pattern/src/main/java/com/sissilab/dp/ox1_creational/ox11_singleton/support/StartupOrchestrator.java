@@ -0,0 +1,206 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Startup Orchestrator: initializes singletons in parallel, following the dependencies they declare.
+ * <p>
+ * Eager singletons are initialized one after another as their classes happen to load, so the startup time is the sum of
+ * all the constructors. And when two singletons reference each other from their static initializers on two threads,
+ * the class initialization deadlocks. Here:
+ * 1. each singleton is registered with its initializer (usually `Xxx::getInstance`) and the names of the singletons it depends on
+ * 2. the dependencies form a DAG: unknown dependencies and cycles are rejected before anything is initialized
+ * 3. a singleton is initialized on the ForkJoinPool as soon as all its dependencies are initialized, so independent ones run in parallel
+ * 4. the report gives the wall-clock time, the sequential time (sum of all initializations) and the critical path,
+ * the chain of dependencies which bounds the startup time whatever the parallelism is
+ * <p>
+ * Use it:
+ * `new StartupOrchestrator()`
+ * `.register("dataSource", DataSource::getInstance)`
+ * `.register("cache", Cache::getInstance, "dataSource")`
+ * `.start(ForkJoinPool.commonPool());`
+ */
+public final class StartupOrchestrator {
+
+    // registration order is kept, for a deterministic report
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+    /**
+     * @param name         unique name of the singleton
+     * @param initializer  creates the singleton, e.g. `Xxx::getInstance`
+     * @param dependencies names of the singletons which must be initialized before this one
+     */
+    public StartupOrchestrator register(String name, Supplier<?> initializer, String... dependencies) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(initializer, "initializer");
+        if (nodes.containsKey(name)) {
+            throw new IllegalArgumentException("Singleton already registered: " + name);
+        }
+        nodes.put(name, new Node(name, initializer, Arrays.asList(dependencies)));
+        return this;
+    }
+
+    /**
+     * Initialize every registered singleton and wait for the end.
+     *
+     * @throws IllegalArgumentException if a dependency is not registered
+     * @throws IllegalStateException    if the dependencies contain a cycle, or if an initializer fails
+     */
+    public Report start(ForkJoinPool pool) {
+        List<Node> order = topologicalOrder();
+
+        long start = System.nanoTime();
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        for (Node node : order) {
+            CompletableFuture<?>[] dependencies = node.dependencies.stream().map(futures::get).toArray(CompletableFuture<?>[]::new);
+            futures.put(node.name, CompletableFuture.allOf(dependencies).thenRunAsync(node::initialize, pool));
+        }
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Startup failed", e.getCause());
+        }
+        return new Report(order, System.nanoTime() - start);
+    }
+
+    /**
+     * Dependencies before dependents (depth-first search), failing on unknown dependencies and cycles.
+     */
+    private List<Node> topologicalOrder() {
+        List<Node> order = new ArrayList<>(nodes.size());
+        Set<String> visited = new HashSet<>();
+        Deque<String> path = new ArrayDeque<>();
+        for (Node node : nodes.values()) {
+            visit(node, visited, path, order);
+        }
+        return order;
+    }
+
+    private void visit(Node node, Set<String> visited, Deque<String> path, List<Node> order) {
+        if (visited.contains(node.name)) {
+            return;
+        }
+        if (path.contains(node.name)) {
+            List<String> cycle = new ArrayList<>();
+            Iterator<String> iterator = path.descendingIterator();
+            while (iterator.hasNext()) {
+                cycle.add(iterator.next());
+            }
+            cycle = cycle.subList(cycle.indexOf(node.name), cycle.size());
+            throw new IllegalStateException("Dependency cycle (would deadlock the class initialization): "
+                    + String.join(" -> ", cycle) + " -> " + node.name);
+        }
+        path.push(node.name);
+        for (String dependency : node.dependencies) {
+            Node dependencyNode = nodes.get(dependency);
+            if (null == dependencyNode) {
+                throw new IllegalArgumentException("Unknown dependency of " + node.name + ": " + dependency);
+            }
+            visit(dependencyNode, visited, path, order);
+        }
+        path.pop();
+        visited.add(node.name);
+        order.add(node);
+    }
+
+    private static final class Node {
+        final String name;
+        final Supplier<?> initializer;
+        final List<String> dependencies;
+        // written by the initializing thread, read after the completion of all futures (happens-before by join)
+        long durationNanos;
+
+        Node(String name, Supplier<?> initializer, List<String> dependencies) {
+            this.name = name;
+            this.initializer = initializer;
+            this.dependencies = dependencies;
+        }
+
+        void initialize() {
+            long start = System.nanoTime();
+            initializer.get();
+            durationNanos = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * The durations of a startup.
+     */
+    public static final class Report {
+        private final long wallClockNanos;
+        private final long sequentialNanos;
+        private final long criticalPathNanos;
+        private final List<String> criticalPath;
+        private final Map<String, Long> durations = new LinkedHashMap<>();
+
+        Report(List<Node> order, long wallClockNanos) {
+            this.wallClockNanos = wallClockNanos;
+            // longest chain ending at each node, computed in topological order
+            Map<String, Long> chainNanos = new HashMap<>();
+            Map<String, String> previous = new HashMap<>();
+            long sequential = 0;
+            String last = null;
+            for (Node node : order) {
+                String longestDependency = null;
+                for (String dependency : node.dependencies) {
+                    if (null == longestDependency || chainNanos.get(dependency) > chainNanos.get(longestDependency)) {
+                        longestDependency = dependency;
+                    }
+                }
+                long chain = node.durationNanos;
+                if (null != longestDependency) {
+                    previous.put(node.name, longestDependency);
+                    chain += chainNanos.get(longestDependency);
+                }
+                chainNanos.put(node.name, chain);
+                if (null == last || chain > chainNanos.get(last)) {
+                    last = node.name;
+                }
+                sequential += node.durationNanos;
+                durations.put(node.name, node.durationNanos);
+            }
+            this.sequentialNanos = sequential;
+            this.criticalPathNanos = null == last ? 0 : chainNanos.get(last);
+            LinkedList<String> path = new LinkedList<>();
+            for (String name = last; null != name; name = previous.get(name)) {
+                path.addFirst(name);
+            }
+            this.criticalPath = Collections.unmodifiableList(path);
+        }
+
+        public long getWallClockNanos() {
+            return wallClockNanos;
+        }
+
+        // what the startup would take without parallelism
+        public long getSequentialNanos() {
+            return sequentialNanos;
+        }
+
+        // the lower bound of the startup time, whatever the parallelism is
+        public long getCriticalPathNanos() {
+            return criticalPathNanos;
+        }
+
+        public List<String> getCriticalPath() {
+            return criticalPath;
+        }
+
+        // name -> initialization duration
+        public Map<String, Long> getDurations() {
+            return Collections.unmodifiableMap(durations);
+        }
+
+        @Override
+        public String toString() {
+            return "Startup{wallClock=" + TimeUnit.NANOSECONDS.toMillis(wallClockNanos) + " ms"
+                    + ", sequential=" + TimeUnit.NANOSECONDS.toMillis(sequentialNanos) + " ms"
+                    + ", criticalPath=" + TimeUnit.NANOSECONDS.toMillis(criticalPathNanos) + " ms " + String.join(" -> ", criticalPath) + "}";
+        }
+    }
+}
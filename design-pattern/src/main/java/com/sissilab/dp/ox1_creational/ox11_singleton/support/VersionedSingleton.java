@@ -0,0 +1,173 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Versioned Singleton: a singleton which can be atomically replaced by a newly built instance, e.g. on a configuration reload.
+ * <p>
+ * The perfect singletons (DCL, static inner class...) can never be replaced once created: reloading the configuration
+ * they hold means restarting the JVM. Here:
+ * 1. each instance is a generation, numbered from 1
+ * 2. `reload()` builds the next instance without blocking the readers, then swaps it in: reloads are serialized with each other only
+ * 3. `get()` stays a single volatile read, and returns the current instance
+ * 4. `acquire()` returns a lease on the current instance: users which must not see it closed in the middle of their work
+ * (e.g. a connection pool) hold a lease, the old generation is closed once it has been replaced and all its leases are released
+ * <p>
+ * Only leases are counted: an instance returned by `get()` may be closed while it is still in use, so `get()` fits
+ * instances without resources to close (e.g. an immutable configuration).
+ * <p>
+ * Use it:
+ * `private static final VersionedSingleton<Config> CONFIG = VersionedSingleton.of(Config::load, null);`
+ * `try (VersionedSingleton.Lease<Pool> lease = POOL.acquire()) { lease.get().query(...); }`
+ *
+ * @param <T> the type of the instance, which must not be null
+ */
+public final class VersionedSingleton<T> implements Supplier<T> {
+
+    private final Supplier<? extends T> factory;
+
+    private final Consumer<? super T> closeHook;
+
+    // the current generation: null means not created yet
+    private volatile Generation<T> current;
+
+    private VersionedSingleton(Supplier<? extends T> factory, Consumer<? super T> closeHook) {
+        this.factory = Objects.requireNonNull(factory, "factory");
+        this.closeHook = closeHook;
+    }
+
+    /**
+     * @param factory   builds the instance of each generation
+     * @param closeHook called with the instance of a replaced generation once all its leases are released, null for none
+     */
+    public static <T> VersionedSingleton<T> of(Supplier<? extends T> factory, Consumer<? super T> closeHook) {
+        return new VersionedSingleton<>(factory, closeHook);
+    }
+
+    @Override
+    public T get() {
+        // fast path: a single volatile read
+        Generation<T> g = current;
+        if (null != g) {
+            return g.value;
+        }
+        return initialize().value;
+    }
+
+    /**
+     * The number of the current generation, 0 if not created yet.
+     */
+    public long generation() {
+        Generation<T> g = current;
+        return null == g ? 0 : g.number;
+    }
+
+    /**
+     * Lease the current instance: its generation is not closed before the lease is closed.
+     */
+    public Lease<T> acquire() {
+        for (; ; ) {
+            Generation<T> g = current;
+            if (null == g) {
+                g = initialize();
+            }
+            if (g.retain()) {
+                return new Lease<>(g, this);
+            }
+            // replaced and closed meanwhile: the next read sees the new generation
+        }
+    }
+
+    /**
+     * Build a new instance and swap it in, the readers keep reading the old one until the swap.
+     *
+     * @return the number of the new generation
+     */
+    public synchronized long reload() {
+        Generation<T> old = current;
+        Generation<T> next = new Generation<>(factory.get(), null == old ? 1 : old.number + 1);
+        current = next;
+        if (null != old) {
+            // the reference of the holder itself
+            release(old);
+        }
+        return next.number;
+    }
+
+    private synchronized Generation<T> initialize() {
+        Generation<T> g = current;
+        if (null == g) {
+            g = new Generation<>(factory.get(), 1);
+            current = g;
+        }
+        return g;
+    }
+
+    private void release(Generation<T> g) {
+        if (g.references.decrementAndGet() == 0 && null != closeHook) {
+            closeHook.accept(g.value);
+        }
+    }
+
+    private static final class Generation<T> {
+        final T value;
+        final long number;
+        // leases + 1 while it is the current generation: 0 means closed, it can no longer be leased
+        final AtomicInteger references = new AtomicInteger(1);
+
+        Generation(T value, long number) {
+            this.value = Objects.requireNonNull(value, "VersionedSingleton factory returned null");
+            this.number = number;
+        }
+
+        boolean retain() {
+            for (; ; ) {
+                int count = references.get();
+                if (0 == count) {
+                    return false;
+                }
+                if (references.compareAndSet(count, count + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * A lease on the instance of one generation, to be closed once done with it.
+     */
+    public static final class Lease<T> implements AutoCloseable, Supplier<T> {
+        private final Generation<T> generation;
+        private final VersionedSingleton<T> owner;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Lease(Generation<T> generation, VersionedSingleton<T> owner) {
+            this.generation = generation;
+            this.owner = owner;
+        }
+
+        @Override
+        public T get() {
+            if (closed.get()) {
+                throw new IllegalStateException("Lease already closed");
+            }
+            return generation.value;
+        }
+
+        public long generation() {
+            return generation.number;
+        }
+
+        // idempotent
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                owner.release(generation);
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Warm Up: opt-in background pre-warming of heavy lazily-held resources.
+ * <p>
+ * A lazy holder defers the heavy initialization to its first caller, which is often a user request.
+ * Holders register themselves here, and once the application calls `start()`, all of them are initialized
+ * concurrently on a bounded pool, so the node can report readiness only when its heavy singletons are warm.
+ * <p>
+ * The registered supplier must be single-flight, e.g. a `Lazy` or a static inner holder class
+ * (the JVM class initialization lock): a caller arriving while the warm-up is in flight then waits for it
+ * instead of starting a second initialization.
+ * <p>
+ * A failed warm-up is reported as FAILED, what happens next depends on the holder:
+ * a `Lazy` stays uninitialized and its next caller retries, but a static inner holder class whose initializer threw
+ * is unusable for good (`NoClassDefFoundError` on every later access), as without any warm-up.
+ * <p>
+ * The warm-up threads end once idle, `shutdown()` stops the warm-up at application stop.
+ * <p>
+ * Use it:
+ * 1. register: `WarmUp.instance.register("heavyResource", EnumSingletonPerfect.instance::getExpensiveResource);`
+ * 2. start at application start: `WarmUp.instance.start(4);`
+ * 3. take traffic once `WarmUp.instance.isReady()`
+ */
+public enum WarmUp {
+    instance;
+
+    public enum State {
+        PENDING, WARMING, READY, FAILED
+    }
+
+    // registered holders in registration order: name -> entry
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    // idle threads are released once the holders are warm
+    private static final long KEEP_ALIVE_MILLIS = 1000;
+
+    // null until `start()` is called, and after `shutdown()`
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Register a heavy holder. If the warm-up has already started, it is warmed immediately.
+     *
+     * @param name   name used in the readiness report
+     * @param holder single-flight accessor of the heavy resource
+     */
+    public synchronized void register(String name, Supplier<?> holder) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(holder, "holder");
+        if (entries.containsKey(name)) {
+            return;
+        }
+        Entry entry = new Entry(name, holder);
+        entries.put(name, entry);
+        if (null != executor) {
+            submit(entry);
+        }
+    }
+
+    /**
+     * Start warming all registered holders concurrently, at most `parallelism` at a time.
+     * Calling it again has no effect.
+     */
+    public synchronized void start(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        if (null != executor) {
+            return;
+        }
+        executor = new ThreadPoolExecutor(parallelism, parallelism, KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new WarmUpThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        for (Entry entry : entries.values()) {
+            // after a `shutdown()`, only the holders never warmed
+            if (State.PENDING == entry.state) {
+                submit(entry);
+            }
+        }
+    }
+
+    /**
+     * Stop the warm-up: the holders not warmed yet stay lazy (PENDING), the ones being warmed are not interrupted
+     * (an interrupted class holder would fail for good). The registrations are kept, `start()` can be called again.
+     */
+    public synchronized void shutdown() {
+        if (null == executor) {
+            return;
+        }
+        // the queued warm-ups are dropped, their holders stay PENDING
+        executor.getQueue().clear();
+        executor.shutdown();
+        executor = null;
+    }
+
+    /**
+     * Forget a holder, e.g. of an unloaded module: it no longer counts for the readiness.
+     */
+    public synchronized void unregister(String name) {
+        entries.remove(name);
+    }
+
+    /**
+     * @return true once the warm-up has started and every registered holder is READY
+     */
+    public synchronized boolean isReady() {
+        if (null == executor) {
+            return false;
+        }
+        for (Entry entry : entries.values()) {
+            if (State.READY != entry.state) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Wait until every holder registered so far has finished warming (READY or FAILED).
+     *
+     * @return whether it is ready before the timeout
+     */
+    public boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Entry entry : snapshot()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !entry.done.await(remaining, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return isReady();
+    }
+
+    /**
+     * @return readiness report: name -> state (with the failure cause, if any)
+     */
+    public synchronized Map<String, String> report() {
+        Map<String, String> report = new LinkedHashMap<>();
+        for (Entry entry : entries.values()) {
+            String state = entry.state.name();
+            if (State.READY == entry.state) {
+                state += " (" + entry.elapsedMillis + " ms)";
+            } else if (State.FAILED == entry.state) {
+                state += " (" + entry.failure + ")";
+            }
+            report.put(entry.name, state);
+        }
+        return Collections.unmodifiableMap(report);
+    }
+
+    private synchronized Entry[] snapshot() {
+        return entries.values().toArray(new Entry[0]);
+    }
+
+    private void submit(Entry entry) {
+        executor.execute(entry::warm);
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final Supplier<?> holder;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile State state = State.PENDING;
+        private volatile long elapsedMillis;
+        private volatile Throwable failure;
+
+        Entry(String name, Supplier<?> holder) {
+            this.name = name;
+            this.holder = holder;
+        }
+
+        void warm() {
+            state = State.WARMING;
+            long start = System.nanoTime();
+            try {
+                holder.get();
+                elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                state = State.READY;
+            } catch (Throwable e) {
+                // a `Lazy` is retried by its next caller, a failed class holder throws NoClassDefFoundError from now on
+                failure = e;
+                state = State.FAILED;
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+
+    // daemon threads: the warm-up must never keep the JVM alive
+    private static final class WarmUpThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "warm-up-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support.spring;
+
+import com.sissilab.dp.ox1_creational.ox11_singleton.support.WarmUp;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Opt-in warm-up of heavy singletons at application start:
+ * <p>
+ * warmup.enabled=true
+ * warmup.parallelism=4
+ * warmup.classes=com.sissilab.dp.ox1_creational.ox11_singleton.perfect.EnumSingletonPerfect
+ * <p>
+ * The listed classes are initialized first, so that their heavy holders register themselves to `WarmUp`.
+ * The warm-up is stopped with the application context.
+ */
+@Configuration
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class WarmUpConfiguration implements DisposableBean {
+
+    @Bean
+    public ApplicationRunner warmUpRunner(@Value("${warmup.parallelism:2}") int parallelism,
+                                          @Value("${warmup.classes:}") String[] classes) {
+        return args -> {
+            ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+            for (String className : classes) {
+                // initialize = true: runs the static initializers which register the holders
+                Class.forName(className.trim(), true, classLoader);
+            }
+            WarmUp.instance.start(parallelism);
+        };
+    }
+
+    @Override
+    public void destroy() {
+        WarmUp.instance.shutdown();
+    }
+}
@@ -0,0 +1,30 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support.spring;
+
+import com.sissilab.dp.ox1_creational.ox11_singleton.support.WarmUp;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Readiness of the heavy singletons warmed by `WarmUpConfiguration`.
+ */
+@RestController
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class WarmUpController {
+
+    /**
+     * http://localhost:8080/ready
+     * 200 once every heavy singleton is warm, 503 before, e.g. for a load balancer readiness probe.
+     *
+     * @return name -> state of each registered holder
+     */
+    @GetMapping("ready")
+    public ResponseEntity<Map<String, String>> ready() {
+        HttpStatus status = WarmUp.instance.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(WarmUp.instance.report());
+    }
+}
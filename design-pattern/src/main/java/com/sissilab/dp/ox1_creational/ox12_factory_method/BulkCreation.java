@@ -0,0 +1,33 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Bulk Creation: fills a pre-sized array of products, shared by the bulk APIs of both factory styles.
+ * <p>
+ * Small arrays are filled in a loop. From `PARALLEL_THRESHOLD` products, the array is split and filled in parallel
+ * with fork/join (`Arrays.parallelSetAll()` on the common pool), so the creation must be thread-safe.
+ */
+public final class BulkCreation {
+
+    // below it, the fork/join overhead costs more than the parallel fill saves, e.g. `-Dbulk-creation.parallel-threshold=8192`
+    public static final int PARALLEL_THRESHOLD = Integer.getInteger("bulk-creation.parallel-threshold", 1 << 14);
+
+    private BulkCreation() {
+    }
+
+    /**
+     * @return `products`, each element created by `creation`
+     */
+    public static <T> T[] fill(T[] products, Supplier<? extends T> creation) {
+        if (products.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSetAll(products, i -> creation.get());
+        } else {
+            for (int i = 0; i < products.length; i++) {
+                products[i] = creation.get();
+            }
+        }
+        return products;
+    }
+}
@@ -0,0 +1,24 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.IProduct;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.FactoryProvider;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.GeneratedFactories;
+
+public class FactoryMethodMain {
+    public static void main(String[] args) {
+        // The factories are shared: created once, on first use.
+        IProduct phone = FactoryProvider.phone().createProduct();
+        phone.desc();
+
+        IProduct laptop = FactoryProvider.laptop().createProduct();
+        laptop.desc();
+
+        IProduct earphone = FactoryProvider.earphone().createProduct();
+        earphone.desc();
+
+        // Factories generated at compile time from the @Product classes: no reflection.
+        for (String key : GeneratedFactories.keys()) {
+            GeneratedFactories.factory(key).createProduct().desc();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.IProduct;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Dynamic Factory: factory method of a product class known at runtime only, e.g. a brand name mapped to a class name
+ * in a configuration file.
+ * <p>
+ * `Constructor.newInstance()` checks the access and boxes the arguments on every call, and is opaque to the JIT.
+ * Here the class is resolved once, and its no-arg constructor is turned into a `Supplier<IProduct>`:
+ * 1. LambdaMetafactory: the same class as a `Phone::new` written in the source, the JIT inlines it like a direct `new`
+ * 2. MethodHandle fallback: when the class is not visible from the class loader of this factory (plugin class loader),
+ * the lambda class cannot link to it, the constructor handle is invoked instead
+ * <p>
+ * The suppliers are cached per class (`ClassValue`): every factory of the same class shares it.
+ * <p>
+ * Use it: `IFactory factory = DynamicFactory.of("com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Phone");`
+ */
+public final class DynamicFactory implements IFactory {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    // product class -> constructor supplier, resolved once per class
+    private static final ClassValue<Supplier<IProduct>> CONSTRUCTORS = new ClassValue<Supplier<IProduct>>() {
+        @Override
+        protected Supplier<IProduct> computeValue(Class<?> type) {
+            return constructorOf(type);
+        }
+    };
+
+    private final Supplier<IProduct> constructor;
+
+    private DynamicFactory(Supplier<IProduct> constructor) {
+        this.constructor = constructor;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the class is not a public concrete IProduct with a public no-arg constructor
+     */
+    public static IFactory of(Class<? extends IProduct> productClass) {
+        Objects.requireNonNull(productClass, "productClass");
+        return new DynamicFactory(CONSTRUCTORS.get(productClass));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the class is not found, or not a valid product class
+     */
+    public static IFactory of(String className) {
+        return of(className, DynamicFactory.class.getClassLoader());
+    }
+
+    public static IFactory of(String className, ClassLoader classLoader) {
+        Objects.requireNonNull(className, "className");
+        Class<?> type;
+        try {
+            type = Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unknown product class: " + className, e);
+        }
+        if (!IProduct.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException(className + " is not an IProduct");
+        }
+        return of(type.asSubclass(IProduct.class));
+    }
+
+    /**
+     * One factory per entry of a configuration, e.g. brand name -> product class name.
+     *
+     * @return name -> factory, in the order of the configuration
+     */
+    public static Map<String, IFactory> of(Map<String, String> classNames, ClassLoader classLoader) {
+        Map<String, IFactory> factories = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : classNames.entrySet()) {
+            factories.put(entry.getKey(), of(entry.getValue(), classLoader));
+        }
+        return factories;
+    }
+
+    @Override
+    public IProduct createProduct() {
+        return constructor.get();
+    }
+
+    // the cached supplier of a class
+    static Supplier<IProduct> constructor(Class<? extends IProduct> productClass) {
+        return CONSTRUCTORS.get(productClass);
+    }
+
+    private static Supplier<IProduct> constructorOf(Class<?> type) {
+        if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers()) || type.isInterface()) {
+            throw new IllegalArgumentException(type.getName() + " must be a public concrete class");
+        }
+        MethodHandle constructor;
+        try {
+            constructor = LOOKUP.findConstructor(type, MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + " must have a public no-arg constructor", e);
+        }
+        if (isVisible(type)) {
+            try {
+                return lambdaOf(type, constructor);
+            } catch (LambdaConversionException e) {
+                // not linkable as a lambda: the method handle below still works
+            }
+        }
+        return new MethodHandleConstructor(constructor.asType(MethodType.methodType(IProduct.class)));
+    }
+
+    // the lambda class is defined next to this class: it links the product class through its class loader
+    private static boolean isVisible(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, DynamicFactory.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<IProduct> lambdaOf(Class<?> type, MethodHandle constructor) throws LambdaConversionException {
+        CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "get", MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class), constructor, MethodType.methodType(type));
+        try {
+            return (Supplier<IProduct>) callSite.getTarget().invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // the target of a non-capturing lambda returns the same instance: nothing else to throw
+            throw new IllegalStateException("Cannot create the lambda of " + type.getName(), e);
+        }
+    }
+
+    // fallback: invokes the constructor handle, slower than the lambda, a handle in a field is not a constant for the JIT
+    static final class MethodHandleConstructor implements Supplier<IProduct> {
+        private final MethodHandle constructor;
+
+        MethodHandleConstructor(MethodHandle constructor) {
+            this.constructor = constructor;
+        }
+
+        @Override
+        public IProduct get() {
+            try {
+                return (IProduct) constructor.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot create a product", e);
+            }
+        }
+    }
+}
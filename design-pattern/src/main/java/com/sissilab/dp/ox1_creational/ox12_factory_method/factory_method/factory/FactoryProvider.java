@@ -0,0 +1,66 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory;
+
+import com.sissilab.dp.ox1_creational.ox11_singleton.support.Lazy;
+import com.sissilab.dp.ox1_creational.ox11_singleton.support.SingletonRegistry;
+
+/**
+ * Factory Provider: one shared factory per product type, created on first use, instead of a `new XxxFactory()` per call.
+ * <p>
+ * The factories are stateless, a single instance per type is enough:
+ * 1. built-in types: a `Lazy` per type, looked up by a `switch` on the key, O(1) and lock-free once created
+ * 2. configured classes: a `DynamicFactory` per class name, in a `SingletonRegistry` (lock-free lookup of created keys)
+ * <p>
+ * Use it: `IProduct phone = FactoryProvider.phone().createProduct();` or `FactoryProvider.get("phone")`
+ */
+public final class FactoryProvider {
+
+    private static final Lazy<IFactory> PHONE = Lazy.of(PhoneFactory::new);
+
+    private static final Lazy<IFactory> LAPTOP = Lazy.of(LaptopFactory::new);
+
+    private static final Lazy<IFactory> EARPHONE = Lazy.of(EarphoneFactory::new);
+
+    // product class name -> factory
+    private static final SingletonRegistry<String, IFactory> DYNAMIC = new SingletonRegistry<>(DynamicFactory::of);
+
+    private FactoryProvider() {
+    }
+
+    public static IFactory phone() {
+        return PHONE.get();
+    }
+
+    public static IFactory laptop() {
+        return LAPTOP.get();
+    }
+
+    public static IFactory earphone() {
+        return EARPHONE.get();
+    }
+
+    /**
+     * @param key "phone", "laptop" or "earphone"
+     * @throws IllegalArgumentException for an unknown key
+     */
+    public static IFactory get(String key) {
+        switch (key) {
+            case "phone":
+                return PHONE.get();
+            case "laptop":
+                return LAPTOP.get();
+            case "earphone":
+                return EARPHONE.get();
+            default:
+                throw new IllegalArgumentException("Unknown product type: " + key);
+        }
+    }
+
+    /**
+     * The shared `DynamicFactory` of a product class name, e.g. read from a configuration.
+     *
+     * @throws IllegalArgumentException if the class is not a valid product class
+     */
+    public static IFactory forClass(String className) {
+        return DYNAMIC.get(className);
+    }
+}
@@ -0,0 +1,17 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.BulkCreation;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.IProduct;
+
+// abstract factory interface
+public interface IFactory {
+    IProduct createProduct();
+
+    /**
+     * Bulk creation: `n` new products in a pre-sized array, filled in parallel for large `n`.
+     * Override it with a specialized path, e.g. a monomorphic `new` instead of a virtual call per product.
+     */
+    default IProduct[] createProducts(int n) {
+        return BulkCreation.fill(new IProduct[n], this::createProduct);
+    }
+}
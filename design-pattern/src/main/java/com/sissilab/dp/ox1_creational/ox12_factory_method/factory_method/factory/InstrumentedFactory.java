@@ -0,0 +1,51 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory;
+
+import com.sissilab.dp.common.metrics.CreationMetrics;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.IProduct;
+
+import java.util.Objects;
+
+/**
+ * Instrumented Factory: decorates a factory to count its creations and sample their latency in `CreationMetrics`.
+ * <p>
+ * Use it: `IFactory factory = InstrumentedFactory.of("Phone", new PhoneFactory());`
+ */
+public final class InstrumentedFactory implements IFactory {
+
+    // the factory method creates a single product type, without family
+    static final String FAMILY = "factory_method";
+
+    private final IFactory delegate;
+
+    private final CreationMetrics.Meter meter;
+
+    private InstrumentedFactory(IFactory delegate, CreationMetrics.Meter meter) {
+        this.delegate = delegate;
+        this.meter = meter;
+    }
+
+    public static IFactory of(String productType, IFactory delegate) {
+        return of(CreationMetrics.global(), productType, delegate);
+    }
+
+    public static IFactory of(CreationMetrics metrics, String productType, IFactory delegate) {
+        Objects.requireNonNull(delegate, "delegate");
+        return new InstrumentedFactory(delegate, metrics.meter(FAMILY, productType));
+    }
+
+    @Override
+    public IProduct createProduct() {
+        long start = meter.start();
+        IProduct product = delegate.createProduct();
+        meter.stop(start);
+        return product;
+    }
+
+    // counted, not timed: the latency of a batch is not the latency of a creation
+    @Override
+    public IProduct[] createProducts(int n) {
+        IProduct[] products = delegate.createProducts(n);
+        meter.add(products.length);
+        return products;
+    }
+}
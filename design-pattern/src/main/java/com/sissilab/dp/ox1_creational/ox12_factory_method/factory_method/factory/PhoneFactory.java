@@ -0,0 +1,19 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.BulkCreation;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.IProduct;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Phone;
+
+public class PhoneFactory implements IFactory {
+    @Override
+    public IProduct createProduct() {
+        return new Phone();
+    }
+
+    // specialized bulk creation: filled by a constructor reference, without the virtual call of `createProduct()`.
+    // The array is a real `IProduct[]`: a `Phone[]` would throw ArrayStoreException when the caller stores another product
+    @Override
+    public IProduct[] createProducts(int n) {
+        return BulkCreation.fill(new IProduct[n], Phone::new);
+    }
+}
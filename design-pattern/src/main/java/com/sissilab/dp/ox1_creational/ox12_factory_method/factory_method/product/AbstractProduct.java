@@ -0,0 +1,14 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product;
+
+import com.sissilab.dp.common.serial.SerialNumbers;
+
+// Product with an identity: a unique serial number, given at creation if serial numbers are used (`SerialNumbers.useForProducts()`)
+public abstract class AbstractProduct implements IProduct {
+
+    private final long serialNumber = SerialNumbers.nextForProduct();
+
+    @Override
+    public long getSerialNumber() {
+        return serialNumber;
+    }
+}
@@ -0,0 +1,17 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product;
+
+public interface IProduct {
+
+    /**
+     * product description
+     */
+    void desc();
+
+    /**
+     * Serial number: unique among the products, never repeated across restarts (see `SerialNumbers`),
+     * 0 for a product without serial number (not extending `AbstractProduct`, or created while no `SerialNumbers` are used)
+     */
+    default long getSerialNumber() {
+        return 0;
+    }
+}
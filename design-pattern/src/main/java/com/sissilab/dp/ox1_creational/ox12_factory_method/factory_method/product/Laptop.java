@@ -0,0 +1,12 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product;
+
+import com.sissilab.dp.common.log.EventLog;
+import com.sissilab.dp.processor.Product;
+
+@Product(key = "laptop")
+public class Laptop extends AbstractProduct {
+    @Override
+    public void desc() {
+        EventLog.log("I am a laptop.");
+    }
+}
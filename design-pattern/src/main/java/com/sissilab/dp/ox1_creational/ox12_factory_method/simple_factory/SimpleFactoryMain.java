@@ -13,5 +13,10 @@ public class SimpleFactoryMain {
 
         IProduct earphone = SimpleFactory.createProduct(SimpleFactory.PRODUCT_TYPE.EARPHONE);
         earphone.desc();
+
+        // pooled creation: borrow a product, then release it to be reused by the next borrower
+        IProduct pooledPhone = SimpleFactory.borrowProduct(SimpleFactory.PRODUCT_TYPE.PHONE);
+        pooledPhone.desc();
+        SimpleFactory.releaseProduct(pooledPhone);
     }
 }
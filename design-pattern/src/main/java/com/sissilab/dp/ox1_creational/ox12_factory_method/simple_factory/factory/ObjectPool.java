@@ -0,0 +1,358 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.factory;
+
+import com.sissilab.dp.common.log.EventLog;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Object Pool: lock-free pool of reusable objects, with borrow/release semantics.
+ * <p>
+ * Creating a new object on every call drives the allocation rate (and the young GC frequency) when the objects are large.
+ * Here the released objects are reused:
+ * 1. per-thread cache: a thread first reuses the objects it released itself, without any atomic operation
+ * 2. shared pool: a fixed array of `maxSize` slots, taken and filled with CAS, no lock
+ * 3. validation: an object failing the validator on release is discarded instead of being pooled
+ * 4. leak detection (optional, sampled): every Nth borrowed object is tracked by a weak reference with the stack trace of
+ * its borrower, if it is garbage collected before being released it is reported as a leak (`EventLog`)
+ * 5. double release detection (optional, debug only): releasing an object still idle in the calling thread's cache or
+ * in the shared pool throws, instead of handing it to two borrowers later. It scans the `maxSize` slots on every release:
+ * `detectDoubleRelease(true)` or `-Dobject-pool.debug=true`, never in production
+ * <p>
+ * At most `maxSize` objects are idle in the shared pool, plus `THREAD_CACHE_SIZE` per thread.
+ * When the pool is empty, `borrow()` creates a new object; when it is full, `release()` drops the object.
+ *
+ * @param <T> the type of the pooled objects
+ */
+public final class ObjectPool<T> {
+
+    static final int THREAD_CACHE_SIZE = 4;
+
+    private static final boolean DEBUG = Boolean.getBoolean("object-pool.debug");
+
+    private final Supplier<? extends T> factory;
+
+    private final Predicate<? super T> validator;
+
+    private final AtomicReferenceArray<T> slots;
+
+    // approximate count of the idle objects in `slots`: skips the scan of an empty or full pool
+    private final AtomicInteger idle = new AtomicInteger();
+
+    private final ThreadLocal<ThreadCache<T>> threadCache;
+
+    // 0: disabled
+    private volatile int leakSampleInterval;
+
+    private final AtomicInteger borrowsUntilSample = new AtomicInteger();
+
+    private final ReferenceQueue<T> collected = new ReferenceQueue<>();
+
+    private volatile boolean detectDoubleRelease = DEBUG;
+
+    // tracked objects: weak key -> itself, looked up by identity
+    private final Map<LeakTracker<T>, LeakTracker<T>> tracked = new ConcurrentHashMap<>();
+
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder creations = new LongAdder();
+    private final LongAdder releases = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+
+    private ObjectPool(Supplier<? extends T> factory, int maxSize, Predicate<? super T> validator) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.factory = Objects.requireNonNull(factory, "factory");
+        this.validator = Objects.requireNonNull(validator, "validator");
+        this.slots = new AtomicReferenceArray<>(maxSize);
+        int cacheSize = Math.min(THREAD_CACHE_SIZE, maxSize);
+        this.threadCache = ThreadLocal.withInitial(() -> new ThreadCache<>(cacheSize));
+    }
+
+    /**
+     * @param factory   creates a new object when the pool is empty
+     * @param maxSize   the max number of idle objects in the shared pool
+     * @param validator checks a released object before pooling it, e.g. not closed, buffer not grown too large
+     */
+    public static <T> ObjectPool<T> of(Supplier<? extends T> factory, int maxSize, Predicate<? super T> validator) {
+        return new ObjectPool<>(factory, maxSize, validator);
+    }
+
+    /**
+     * Track every `sampleInterval`th borrowed object to report the objects never released, 0 to disable.
+     */
+    public ObjectPool<T> detectLeaks(int sampleInterval) {
+        if (sampleInterval < 0) {
+            throw new IllegalArgumentException("sampleInterval must not be negative: " + sampleInterval);
+        }
+        this.leakSampleInterval = sampleInterval;
+        return this;
+    }
+
+    /**
+     * Check on every release that the object is not already idle in the calling thread's cache or in the shared pool.
+     * Debug only: each release scans the whole shared pool.
+     */
+    public ObjectPool<T> detectDoubleRelease(boolean enabled) {
+        this.detectDoubleRelease = enabled;
+        return this;
+    }
+
+    /**
+     * Take an idle object from the pool, or create a new one if the pool is empty.
+     */
+    public T borrow() {
+        borrows.increment();
+        T object = threadCache.get().pop();
+        if (null == object) {
+            object = takeShared();
+        }
+        if (null == object) {
+            object = Objects.requireNonNull(factory.get(), "ObjectPool factory returned null");
+            creations.increment();
+        }
+        if (0 != leakSampleInterval) {
+            trackLeak(object);
+        }
+        return object;
+    }
+
+    /**
+     * Give an object back to the pool: it must not be used by the caller anymore.
+     *
+     * @throws IllegalStateException if double releases are detected and the object is already idle in the pool
+     */
+    public void release(T object) {
+        Objects.requireNonNull(object, "object");
+        if (detectDoubleRelease && isIdle(object)) {
+            throw new IllegalStateException("Object released twice: " + object.getClass().getName());
+        }
+        releases.increment();
+        if (!tracked.isEmpty()) {
+            untrack(object);
+        }
+        if (!validator.test(object)) {
+            discarded.increment();
+            return;
+        }
+        if (!threadCache.get().push(object) && !putShared(object)) {
+            // full
+            discarded.increment();
+        }
+    }
+
+    public Stats stats() {
+        pollLeaks();
+        return new Stats(borrows.sum(), creations.sum(), releases.sum(), discarded.sum(), leaks.sum());
+    }
+
+    // debug: the object is in the cache of this thread or in the shared pool (the other threads' caches are not visible)
+    private boolean isIdle(T object) {
+        if (threadCache.get().contains(object)) {
+            return true;
+        }
+        for (int i = 0; i < slots.length(); i++) {
+            if (object == slots.get(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private T takeShared() {
+        if (idle.get() <= 0) {
+            return null;
+        }
+        int length = slots.length();
+        int start = probe(length);
+        for (int i = 0; i < length; i++) {
+            int index = (start + i) % length;
+            T object = slots.get(index);
+            if (null != object && slots.compareAndSet(index, object, null)) {
+                idle.decrementAndGet();
+                return object;
+            }
+        }
+        return null;
+    }
+
+    private boolean putShared(T object) {
+        int length = slots.length();
+        if (idle.get() >= length) {
+            return false;
+        }
+        int start = probe(length);
+        for (int i = 0; i < length; i++) {
+            int index = (start + i) % length;
+            if (null == slots.get(index) && slots.compareAndSet(index, null, object)) {
+                idle.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // each thread starts scanning at its own slot, to spread the CAS of concurrent threads
+    private static int probe(int length) {
+        long id = Thread.currentThread().getId();
+        return (int) ((id ^ (id >>> 32)) & Integer.MAX_VALUE) % length;
+    }
+
+    private void trackLeak(T object) {
+        if (borrowsUntilSample.incrementAndGet() % leakSampleInterval != 0) {
+            return;
+        }
+        pollLeaks();
+        LeakTracker<T> tracker = new LeakTracker<>(object, collected);
+        tracked.put(tracker, tracker);
+    }
+
+    private void untrack(T object) {
+        LeakTracker<T> tracker = tracked.remove(new LeakTracker<>(object, null));
+        if (null != tracker) {
+            tracker.clear();
+        }
+    }
+
+    // the tracked objects collected without being released
+    private void pollLeaks() {
+        Reference<? extends T> reference;
+        while (null != (reference = collected.poll())) {
+            // only the trackers are registered with the queue
+            LeakTracker<?> tracker = (LeakTracker<?>) reference;
+            if (null != tracked.remove(tracker)) {
+                leaks.increment();
+                EventLog.log(leakReport(tracker.borrowedAt));
+            }
+        }
+    }
+
+    private static String leakReport(Throwable borrowedAt) {
+        StringBuilder report = new StringBuilder("LEAK: a pooled object was garbage collected without being released, borrowed at:");
+        for (StackTraceElement element : borrowedAt.getStackTrace()) {
+            report.append(System.lineSeparator()).append("\tat ").append(element);
+        }
+        return report.toString();
+    }
+
+    private static final class ThreadCache<T> {
+        private final ArrayDeque<T> objects;
+        private final int capacity;
+
+        ThreadCache(int capacity) {
+            this.objects = new ArrayDeque<>(capacity);
+            this.capacity = capacity;
+        }
+
+        T pop() {
+            return objects.pollLast();
+        }
+
+        // by identity, whatever the `equals()` of the objects
+        boolean contains(T object) {
+            for (T cached : objects) {
+                if (cached == object) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean push(T object) {
+            if (objects.size() == capacity) {
+                return false;
+            }
+            objects.addLast(object);
+            return true;
+        }
+    }
+
+    // weak reference to a borrowed object, equal to any other tracker of the same object (identity)
+    private static final class LeakTracker<T> extends WeakReference<T> {
+        private final int hash;
+        private final Throwable borrowedAt;
+
+        LeakTracker(T object, ReferenceQueue<? super T> queue) {
+            super(object, queue);
+            this.hash = System.identityHashCode(object);
+            // only the tracked trackers record the stack trace, not the lookup keys
+            this.borrowedAt = null == queue ? null : new Throwable("Borrowed at");
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LeakTracker)) {
+                return false;
+            }
+            Object referent = get();
+            return null != referent && referent == ((LeakTracker<?>) o).get();
+        }
+    }
+
+    /**
+     * A snapshot of the pool counters.
+     */
+    public static final class Stats {
+        private final long borrows;
+        private final long creations;
+        private final long releases;
+        private final long discarded;
+        private final long leaks;
+
+        Stats(long borrows, long creations, long releases, long discarded, long leaks) {
+            this.borrows = borrows;
+            this.creations = creations;
+            this.releases = releases;
+            this.discarded = discarded;
+            this.leaks = leaks;
+        }
+
+        public long getBorrows() {
+            return borrows;
+        }
+
+        // borrows served by a new object: the pool was empty
+        public long getCreations() {
+            return creations;
+        }
+
+        public long getReleases() {
+            return releases;
+        }
+
+        // released objects dropped: invalid, or the pool was full
+        public long getDiscarded() {
+            return discarded;
+        }
+
+        // sampled objects garbage collected without being released
+        public long getLeaks() {
+            return leaks;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{borrows=" + borrows + ", creations=" + creations + ", releases=" + releases
+                    + ", discarded=" + discarded + ", leaks=" + leaks + "}";
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.factory;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.product.IProduct;
+
+/**
+ * Service provider of a product type, discovered by `ProductRegistry` via `ServiceLoader`: a new product is added without
+ * recompiling `SimpleFactory`.
+ * <p>
+ * Register the implementation in `META-INF/services/com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.factory.ProductProvider`.
+ * The provider is instantiated at startup to read its type: keep it lightweight, and only reference the product class
+ * in `create()`, so that the product class is only loaded on its first creation.
+ */
+public interface ProductProvider {
+
+    /**
+     * The product type name, e.g. "TABLET": unique, and not the name of a built-in `PRODUCT_TYPE`.
+     */
+    String type();
+
+    IProduct create();
+}
@@ -0,0 +1,104 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.factory;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.product.Earphone;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.product.IProduct;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.product.Laptop;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.product.Phone;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Product Registry: the dispatch of `SimpleFactory`, from a product type to the supplier of its products.
+ * <p>
+ * A switch over the product types has to be edited and recompiled for each new product. Here:
+ * 1. the built-in types are an `EnumMap<PRODUCT_TYPE, Supplier<IProduct>>`: an array indexed by the ordinal
+ * 2. the other types come from the `ProductProvider`s found by `ServiceLoader`, indexed once by name in a `HashMap`
+ * 3. the registry is immutable once loaded: the dispatch is a lock-free lookup, constant whatever the number of types
+ */
+public final class ProductRegistry {
+
+    private final Map<SimpleFactory.PRODUCT_TYPE, Supplier<IProduct>> builtIn = new EnumMap<>(SimpleFactory.PRODUCT_TYPE.class);
+
+    // the class of the products of each built-in type, known without creating one
+    private final Map<SimpleFactory.PRODUCT_TYPE, Class<? extends IProduct>> builtInClasses = new EnumMap<>(SimpleFactory.PRODUCT_TYPE.class);
+
+    // type name -> supplier: built-in types by their enum name, and the discovered providers
+    private final Map<String, Supplier<IProduct>> byName = new HashMap<>();
+
+    ProductRegistry(Map<String, ? extends Supplier<IProduct>> extensions) {
+        builtIn(SimpleFactory.PRODUCT_TYPE.PHONE, Phone.class, Phone::new);
+        builtIn(SimpleFactory.PRODUCT_TYPE.LAPTOP, Laptop.class, Laptop::new);
+        builtIn(SimpleFactory.PRODUCT_TYPE.EARPHONE, Earphone.class, Earphone::new);
+        for (Map.Entry<SimpleFactory.PRODUCT_TYPE, Supplier<IProduct>> entry : builtIn.entrySet()) {
+            byName.put(entry.getKey().name(), entry.getValue());
+        }
+        for (Map.Entry<String, ? extends Supplier<IProduct>> entry : extensions.entrySet()) {
+            if (null != byName.putIfAbsent(entry.getKey(), entry.getValue())) {
+                throw new IllegalStateException("Duplicate product type: " + entry.getKey());
+            }
+        }
+    }
+
+    private void builtIn(SimpleFactory.PRODUCT_TYPE productType, Class<? extends IProduct> productClass, Supplier<IProduct> supplier) {
+        builtIn.put(productType, supplier);
+        builtInClasses.put(productType, productClass);
+    }
+
+    /**
+     * The built-in types, and the providers found by `ServiceLoader` in the class loader.
+     */
+    public static ProductRegistry load(ClassLoader classLoader) {
+        Map<String, Supplier<IProduct>> extensions = new LinkedHashMap<>();
+        for (ProductProvider provider : ServiceLoader.load(ProductProvider.class, classLoader)) {
+            if (null != extensions.putIfAbsent(provider.type(), provider::create)) {
+                throw new IllegalStateException("Duplicate product provider for type: " + provider.type());
+            }
+        }
+        return new ProductRegistry(extensions);
+    }
+
+    /**
+     * @return a new product, null if the product type is null
+     */
+    public IProduct create(SimpleFactory.PRODUCT_TYPE productType) {
+        if (null == productType) {
+            return null;
+        }
+        return builtIn.get(productType).get();
+    }
+
+    /**
+     * The supplier of the product type, e.g. to create many products with a single dispatch.
+     *
+     * @throws NullPointerException if the product type is null
+     */
+    public Supplier<IProduct> supplier(SimpleFactory.PRODUCT_TYPE productType) {
+        return builtIn.get(Objects.requireNonNull(productType, "productType"));
+    }
+
+    /**
+     * The class of the products of a built-in type, without creating a product.
+     *
+     * @throws NullPointerException if the product type is null
+     */
+    public Class<? extends IProduct> productClass(SimpleFactory.PRODUCT_TYPE productType) {
+        return builtInClasses.get(Objects.requireNonNull(productType, "productType"));
+    }
+
+    /**
+     * @param type the name of a built-in `PRODUCT_TYPE` or the type of a `ProductProvider`
+     * @throws IllegalArgumentException if no product has this type
+     */
+    public IProduct create(String type) {
+        Supplier<IProduct> supplier = byName.get(type);
+        if (null == supplier) {
+            throw new IllegalArgumentException("Unknown product type: " + type + ", known types: " + byName.keySet());
+        }
+        return supplier.get();
+    }
+
+    public Set<String> types() {
+        return Collections.unmodifiableSet(byName.keySet());
+    }
+}
@@ -0,0 +1,109 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.factory;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.BulkCreation;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.product.IProduct;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+public class SimpleFactory {
+
+    public enum PRODUCT_TYPE {
+        PHONE,
+        LAPTOP,
+        EARPHONE
+    }
+
+    // the dispatch from product types to products, with the products discovered via ServiceLoader
+    private static final ProductRegistry REGISTRY = ProductRegistry.load(SimpleFactory.class.getClassLoader());
+
+    /**
+     * Create a new product object according to the product type
+     *
+     * @param productType
+     * @return
+     */
+    public static IProduct createProduct(PRODUCT_TYPE productType) {
+        return REGISTRY.create(productType);
+    }
+
+    /**
+     * Create a new product object according to the product type name: a built-in `PRODUCT_TYPE` or the type of a
+     * `ProductProvider` discovered via ServiceLoader
+     *
+     * @param type
+     * @return
+     * @throws IllegalArgumentException if no product has this type
+     */
+    public static IProduct createProduct(String type) {
+        return REGISTRY.create(type);
+    }
+
+    /**
+     * Bulk creation: `n` new products of the product type in a pre-sized array, filled in parallel for large `n`.
+     * The product type is dispatched once, not once per product.
+     *
+     * @param productType
+     * @param n
+     * @return
+     */
+    public static IProduct[] createProducts(PRODUCT_TYPE productType, int n) {
+        return BulkCreation.fill(new IProduct[n], REGISTRY.supplier(productType));
+    }
+
+    // max idle products pooled per type, e.g. `-Dsimple-factory.pool.max-size=256`
+    private static final int POOL_MAX_SIZE = Integer.getInteger("simple-factory.pool.max-size", 64);
+
+    // one pool per product type, and the pool of each product class for `releaseProduct()`
+    private static final Map<PRODUCT_TYPE, ObjectPool<IProduct>> POOLS = new EnumMap<>(PRODUCT_TYPE.class);
+    private static final Map<Class<?>, ObjectPool<IProduct>> POOLS_BY_CLASS = new HashMap<>();
+
+    static {
+        for (PRODUCT_TYPE productType : PRODUCT_TYPE.values()) {
+            Class<? extends IProduct> productClass = REGISTRY.productClass(productType);
+            // a product of another type released into the pool (e.g. through `pool()`) is not handed to its borrowers
+            ObjectPool<IProduct> pool = ObjectPool.of(() -> createProduct(productType), POOL_MAX_SIZE,
+                    product -> productClass == product.getClass());
+            POOLS.put(productType, pool);
+            POOLS_BY_CLASS.put(productClass, pool);
+        }
+    }
+
+    /**
+     * Pooled creation: borrow a product of the product type, reusing a released one if any.
+     * The product must be given back with `releaseProduct()` once the caller is done with it.
+     *
+     * @param productType
+     * @return
+     */
+    public static IProduct borrowProduct(PRODUCT_TYPE productType) {
+        if (null == productType) {
+            return null;
+        }
+        return POOLS.get(productType).borrow();
+    }
+
+    /**
+     * Give a borrowed product back to its pool: the caller must not use it anymore.
+     *
+     * @param product
+     */
+    public static void releaseProduct(IProduct product) {
+        ObjectPool<IProduct> pool = POOLS_BY_CLASS.get(product.getClass());
+        if (null == pool) {
+            throw new IllegalArgumentException("Not a product of SimpleFactory: " + product.getClass().getName());
+        }
+        pool.release(product);
+    }
+
+    /**
+     * The pool of the product type, e.g. to read its stats or to enable leak detection.
+     *
+     * @param productType
+     * @return
+     */
+    public static ObjectPool<IProduct> pool(PRODUCT_TYPE productType) {
+        return POOLS.get(productType);
+    }
+}
@@ -1,8 +1,10 @@
 package com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.product;
 
+import com.sissilab.dp.common.log.EventLog;
+
 public class Laptop implements IProduct {
     @Override
     public void desc() {
-        System.out.println("I am a laptop.");
+        EventLog.log("I am a laptop.");
     }
 }
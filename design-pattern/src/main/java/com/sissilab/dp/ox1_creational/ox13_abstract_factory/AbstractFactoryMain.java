@@ -1,15 +1,17 @@
 package com.sissilab.dp.ox1_creational.ox13_abstract_factory;
 
 
+import com.sissilab.dp.common.log.EventLog;
 import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.AppleFactory;
-import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.HuaweiFactory;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.FactoryProvider;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.FlyweightFactory;
 import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.IFactory;
 import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.IProduct;
 
 public class AbstractFactoryMain {
     public static void main(String[] args) {
-        // Create a Huawei factory to produce concrete products.
-        IFactory huaweiFactory = new HuaweiFactory();
+        // Get the shared Huawei factory (created on first use) to produce concrete products.
+        IFactory huaweiFactory = FactoryProvider.huawei();
         // Create a phone through the Huawei factory.
         IProduct huaweiPhone = huaweiFactory.makePhone();
         huaweiPhone.desc();
@@ -20,10 +22,10 @@ public class AbstractFactoryMain {
         IProduct huaweiEarphone = huaweiFactory.makeEarphone();
         huaweiEarphone.desc();
 
-        System.out.println("-----------------");
+        EventLog.log("-----------------");
 
-        // Create a Apple factory to produce concrete products.
-        IFactory appleFactory = new AppleFactory();
+        // Get the shared Apple factory to produce concrete products.
+        IFactory appleFactory = FactoryProvider.apple();
         // Create a phone through the Apple factory.
         IProduct applePhone = appleFactory.makePhone();
         applePhone.desc();
@@ -33,5 +35,12 @@ public class AbstractFactoryMain {
         // Create an earphone through the Apple factory.
         IProduct appleEarphone = appleFactory.makeEarphone();
         appleEarphone.desc();
+
+        EventLog.log("-----------------");
+
+        // Flyweight mode: the stateless products are made once, then shared.
+        IFactory flyweightAppleFactory = FlyweightFactory.of(new AppleFactory());
+        IProduct sharedPhone = flyweightAppleFactory.makePhone();
+        EventLog.log("Shared Apple phone: " + (sharedPhone == flyweightAppleFactory.makePhone()));
     }
 }
@@ -1,18 +1,23 @@
 package com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory;
 
 
+import com.sissilab.dp.common.log.EventLog;
+import com.sissilab.dp.common.serial.SerialNumbers;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.AppleEarphone;
 import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.AppleLaptop;
 import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.ApplePhone;
 import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.IProduct;
-import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.AppleEarphone;
 
 /**
  * Apple Concrete Factory
+ * <p>
+ * While serial numbers are used for the products (`SerialNumbers.useForProducts()`), each product is a `Serial` variant
+ * with its own serial number, otherwise the shareable product itself.
  */
 public class AppleFactory implements IFactory {
 
     public AppleFactory() {
-        System.out.println("Create Apple factory.");
+        EventLog.log("Create Apple factory.");
     }
 
     /**
@@ -20,8 +25,8 @@ public class AppleFactory implements IFactory {
      */
     @Override
     public IProduct makePhone() {
-        System.out.println("Make Apple phone...");
-        return new ApplePhone();
+        EventLog.log("Make Apple phone...");
+        return SerialNumbers.isUsedForProducts() ? new ApplePhone.Serial() : new ApplePhone();
     }
 
     /**
@@ -29,8 +34,8 @@ public class AppleFactory implements IFactory {
      */
     @Override
     public IProduct makeLaptop() {
-        System.out.println("Make Apple laptop...");
-        return new AppleLaptop();
+        EventLog.log("Make Apple laptop...");
+        return SerialNumbers.isUsedForProducts() ? new AppleLaptop.Serial() : new AppleLaptop();
     }
 
     /**
@@ -38,7 +43,7 @@ public class AppleFactory implements IFactory {
      */
     @Override
     public IProduct makeEarphone() {
-        System.out.println("Make Apple earphone...");
-        return new AppleEarphone();
+        EventLog.log("Make Apple earphone...");
+        return SerialNumbers.isUsedForProducts() ? new AppleEarphone.Serial() : new AppleEarphone();
     }
 }
@@ -0,0 +1,44 @@
+package com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory;
+
+import com.sissilab.dp.ox1_creational.ox11_singleton.support.Lazy;
+
+/**
+ * Factory Provider: one shared factory per family, created on first use, instead of a `new XxxFactory()` per call.
+ * <p>
+ * The family factories are stateless but their constructors have side effects (logging): each one runs once.
+ * A `Lazy` per family, looked up by a `switch` on the name: O(1) and lock-free once created.
+ * <p>
+ * Use it: `IProduct phone = FactoryProvider.huawei().makePhone();` or `FactoryProvider.family("Huawei")`
+ */
+public final class FactoryProvider {
+
+    private static final Lazy<IFactory> APPLE = Lazy.of(AppleFactory::new);
+
+    private static final Lazy<IFactory> HUAWEI = Lazy.of(HuaweiFactory::new);
+
+    private FactoryProvider() {
+    }
+
+    public static IFactory apple() {
+        return APPLE.get();
+    }
+
+    public static IFactory huawei() {
+        return HUAWEI.get();
+    }
+
+    /**
+     * @param name "Apple" or "Huawei"
+     * @throws IllegalArgumentException for an unknown family
+     */
+    public static IFactory family(String name) {
+        switch (name) {
+            case "Apple":
+                return APPLE.get();
+            case "Huawei":
+                return HUAWEI.get();
+            default:
+                throw new IllegalArgumentException("Unknown family: " + name);
+        }
+    }
+}
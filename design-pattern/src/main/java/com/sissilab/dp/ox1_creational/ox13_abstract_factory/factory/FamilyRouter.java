@@ -0,0 +1,259 @@
+package com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory;
+
+import com.sissilab.dp.common.log.EventLog;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.IProduct;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Family Router: an abstract factory delegating to the family configured for a region, switchable without a restart.
+ * <p>
+ * The configuration is a properties file, region -> family, `default` for the other regions:
+ * `default=Huawei`, `us=Apple`
+ * <p>
+ * 1. routing: an immutable snapshot (region -> family factory), in an AtomicReference: a `makeXxx()` call reads it once,
+ * never blocks, and always sees a complete configuration, the old one or the new one
+ * 2. reload: the whole file is parsed and validated into a new snapshot, then swapped in one `set()`;
+ * an invalid file (unknown family, no default) is rejected and the current routing is kept, the rejection is logged
+ * (`EventLog`)
+ * 3. hot reload: `watch()` starts a daemon thread ("family-router-watcher") reloading the file on change, through a
+ * WatchService on its directory, and keeps watching whatever a reload throws, until `close()` or until the directory
+ * is not accessible anymore (logged)
+ * <p>
+ * Replace the file atomically (write a temp file, then move it): the events of a write in place are debounced, but a
+ * reload could still read a partially written file.
+ * <p>
+ * The family factories come from `FactoryProvider`: shared, created on first use.
+ * <p>
+ * Use it:
+ * `FamilyRouter router = FamilyRouter.of(Paths.get("families.properties")).watch();`
+ * `IProduct phone = router.forRegion("us").makePhone();`
+ */
+public final class FamilyRouter implements IFactory, AutoCloseable {
+
+    static final String DEFAULT_REGION = "default";
+
+    // events closer than this are coalesced into one reload, e.g. the truncate and the write of an editor
+    private static final long DEBOUNCE_MILLIS = 50;
+
+    private final Path configFile;
+
+    private final AtomicReference<Routing> routing = new AtomicReference<>();
+
+    private volatile WatchService watchService;
+
+    private FamilyRouter(Path configFile) {
+        this.configFile = configFile.toAbsolutePath();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the configuration cannot be read or is invalid
+     */
+    public static FamilyRouter of(Path configFile) {
+        Objects.requireNonNull(configFile, "configFile");
+        FamilyRouter router = new FamilyRouter(configFile);
+        router.routing.set(Routing.load(router.configFile));
+        return router;
+    }
+
+    /**
+     * Reload the configuration file when it changes, until `close()` or until its directory is not accessible anymore.
+     */
+    public synchronized FamilyRouter watch() {
+        if (null != watchService) {
+            return this;
+        }
+        try {
+            WatchService service = configFile.getFileSystem().newWatchService();
+            configFile.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchService = service;
+            Thread watcher = new Thread(() -> watchLoop(service), "family-router-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot watch " + configFile, e);
+        }
+        return this;
+    }
+
+    /**
+     * Reload the configuration file now.
+     *
+     * @return false if the file is invalid: the current routing is kept
+     */
+    public boolean reload() {
+        try {
+            Routing loaded = Routing.load(configFile);
+            routing.set(loaded);
+            EventLog.log("Family routing reloaded: " + loaded.families);
+            return true;
+        } catch (IllegalArgumentException e) {
+            EventLog.log("Family routing not reloaded, keeping the current one: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * An abstract factory of the region: each call is routed to the family configured at the time of the call.
+     */
+    public IFactory forRegion(String region) {
+        Objects.requireNonNull(region, "region");
+        return new RegionFactory(region);
+    }
+
+    /**
+     * @return region -> family of the current routing, sorted by region
+     */
+    public Map<String, String> families() {
+        return routing.get().families;
+    }
+
+    // IFactory: routed to the default region
+
+    @Override
+    public IProduct makePhone() {
+        return routing.get().defaultFactory.makePhone();
+    }
+
+    @Override
+    public IProduct makeLaptop() {
+        return routing.get().defaultFactory.makeLaptop();
+    }
+
+    @Override
+    public IProduct makeEarphone() {
+        return routing.get().defaultFactory.makeEarphone();
+    }
+
+    /**
+     * Stop watching the configuration file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (null != watchService) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+    private void watchLoop(WatchService service) {
+        try {
+            for (; ; ) {
+                WatchKey key = service.take();
+                boolean changed = isConfigEvent(key);
+                boolean valid = key.reset();
+                // debounce: coalesce the events of the same change
+                WatchKey next;
+                while (valid && null != (next = service.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS))) {
+                    changed |= isConfigEvent(next);
+                    valid = next.reset();
+                }
+                if (changed) {
+                    try {
+                        reload();
+                    } catch (RuntimeException e) {
+                        // e.g. a family factory failing to initialize: the next change is still picked up
+                        EventLog.log("Family routing not reloaded, keeping the current one: " + e);
+                    }
+                }
+                if (!valid) {
+                    // e.g. the directory deleted: no event would ever come again
+                    EventLog.log("Family routing not watched anymore: " + configFile.getParent() + " is not accessible");
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // closed: stop watching
+        }
+    }
+
+    private boolean isConfigEvent(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            changed |= StandardWatchEventKinds.OVERFLOW == event.kind() || configFile.getFileName().equals(context);
+        }
+        return changed;
+    }
+
+    private IFactory factoryOf(String region) {
+        Routing current = routing.get();
+        IFactory factory = current.factories.get(region);
+        return null != factory ? factory : current.defaultFactory;
+    }
+
+    private final class RegionFactory implements IFactory {
+        private final String region;
+
+        RegionFactory(String region) {
+            this.region = region;
+        }
+
+        @Override
+        public IProduct makePhone() {
+            return factoryOf(region).makePhone();
+        }
+
+        @Override
+        public IProduct makeLaptop() {
+            return factoryOf(region).makeLaptop();
+        }
+
+        @Override
+        public IProduct makeEarphone() {
+            return factoryOf(region).makeEarphone();
+        }
+    }
+
+    // an immutable, validated configuration
+    private static final class Routing {
+        private final Map<String, String> families;
+        private final Map<String, IFactory> factories;
+        private final IFactory defaultFactory;
+
+        private Routing(Map<String, String> families, Map<String, IFactory> factories) {
+            this.families = Collections.unmodifiableMap(families);
+            this.factories = factories;
+            this.defaultFactory = factories.get(DEFAULT_REGION);
+        }
+
+        static Routing load(Path configFile) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(configFile, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot read " + configFile + ": " + e, e);
+            }
+            if (!properties.containsKey(DEFAULT_REGION)) {
+                throw new IllegalArgumentException("No \"" + DEFAULT_REGION + "\" family in " + configFile);
+            }
+            // sorted: the order of `stringPropertyNames()` is the one of a hash set
+            Map<String, String> families = new TreeMap<>();
+            Map<String, IFactory> factories = new HashMap<>();
+            for (String region : properties.stringPropertyNames()) {
+                String family = properties.getProperty(region).trim();
+                // IllegalArgumentException for an unknown family
+                factories.put(region, FactoryProvider.family(family));
+                families.put(region, family);
+            }
+            return new Routing(families, factories);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory;
+
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.IProduct;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.Shareable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Flyweight Factory: decorates a family factory to return one canonical instance of each shareable product,
+ * instead of a new object per call.
+ * <p>
+ * 1. the first product made by each method is checked: if its class is `@Shareable`, it becomes the canonical
+ * instance of its class (one per class in the JVM, whichever factory made it first), returned by every next call
+ * without calling the delegate
+ * 2. the other products (mutable, not marked) keep being made by the delegate on every call
+ * 3. safety check: a `@Shareable` class with a non-final field, or a field of a mutable type, is rejected with an
+ * IllegalStateException, sharing it would leak the state of a caller to the others
+ * 4. identity: a `@Shareable` class with its own serial number (`getSerialNumber()` overridden) is rejected the same
+ * way, every caller would get the serial number of the canonical instance. The `Serial` variants made by the family
+ * factories while serial numbers are used are not marked: they keep being made on every call, each with its own
+ * serial number
+ * <p>
+ * Each method of the delegate must always make the same product class.
+ * <p>
+ * Use it: `IFactory appleFactory = FlyweightFactory.of(new AppleFactory());`
+ */
+public final class FlyweightFactory implements IFactory {
+
+    // product class -> whether its instances can be shared, checked once per class
+    private static final ClassValue<Boolean> SHAREABLE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return checkShareable(type);
+        }
+    };
+
+    // product class -> canonical instance
+    private static final ConcurrentMap<Class<?>, IProduct> CANONICAL = new ConcurrentHashMap<>();
+
+    private final Slot phones;
+
+    private final Slot laptops;
+
+    private final Slot earphones;
+
+    private FlyweightFactory(IFactory delegate) {
+        this.phones = new Slot(delegate::makePhone);
+        this.laptops = new Slot(delegate::makeLaptop);
+        this.earphones = new Slot(delegate::makeEarphone);
+    }
+
+    public static IFactory of(IFactory delegate) {
+        Objects.requireNonNull(delegate, "delegate");
+        return new FlyweightFactory(delegate);
+    }
+
+    @Override
+    public IProduct makePhone() {
+        return phones.get();
+    }
+
+    @Override
+    public IProduct makeLaptop() {
+        return laptops.get();
+    }
+
+    @Override
+    public IProduct makeEarphone() {
+        return earphones.get();
+    }
+
+    /**
+     * @return true if the class is `@Shareable` and immutable, false if not marked
+     * @throws IllegalStateException if the class is `@Shareable` but has a mutable field
+     */
+    public static boolean isShareable(Class<?> type) {
+        return SHAREABLE.get(type);
+    }
+
+    private static boolean checkShareable(Class<?> type) {
+        if (!type.isAnnotationPresent(Shareable.class)) {
+            return false;
+        }
+        if (hasSerialNumber(type)) {
+            throw new IllegalStateException(type.getName() + " is @Shareable but has a serial number per instance");
+        }
+        List<String> mutableFields = new ArrayList<>();
+        for (Class<?> c = type; null != c && Object.class != c; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers)) {
+                    continue;
+                }
+                if (!Modifier.isFinal(modifiers) || !isImmutableType(field.getType())) {
+                    mutableFields.add(c.getSimpleName() + "." + field.getName());
+                }
+            }
+        }
+        if (!mutableFields.isEmpty()) {
+            throw new IllegalStateException(type.getName() + " is @Shareable but has mutable fields: " + mutableFields);
+        }
+        return true;
+    }
+
+    private static boolean hasSerialNumber(Class<?> type) {
+        try {
+            return IProduct.class != type.getMethod("getSerialNumber").getDeclaringClass();
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static boolean isImmutableType(Class<?> type) {
+        if (type.isPrimitive() || type.isEnum() || String.class == type || Class.class == type
+                || Boolean.class == type || Character.class == type) {
+            return true;
+        }
+        // Integer, Long, Double...: not AtomicInteger or LongAdder
+        if (Number.class.isAssignableFrom(type) && "java.lang".equals(type.getPackage().getName())) {
+            return true;
+        }
+        return type.isAnnotationPresent(Shareable.class);
+    }
+
+    // a product method of the delegate, with its canonical instance once known shareable
+    private static final class Slot {
+        private final Supplier<IProduct> maker;
+
+        private volatile IProduct canonical;
+
+        // false once the product is known not shareable: always made by the delegate
+        private volatile boolean shareable = true;
+
+        Slot(Supplier<IProduct> maker) {
+            this.maker = maker;
+        }
+
+        IProduct get() {
+            IProduct product = canonical;
+            if (null != product) {
+                return product;
+            }
+            product = maker.get();
+            if (!shareable || null == product) {
+                return product;
+            }
+            if (!isShareable(product.getClass())) {
+                shareable = false;
+                return product;
+            }
+            IProduct existing = CANONICAL.putIfAbsent(product.getClass(), product);
+            if (null != existing) {
+                product = existing;
+            }
+            canonical = product;
+            return product;
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory;
 
 
+import com.sissilab.dp.common.log.EventLog;
+import com.sissilab.dp.common.serial.SerialNumbers;
 import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.HuaweiEarphone;
 import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.HuaweiLaptop;
-import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.IProduct;
 import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.HuaweiPhone;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.IProduct;
 
 /**
  * Huawei Concrete Factory
+ * <p>
+ * While serial numbers are used for the products (`SerialNumbers.useForProducts()`), each product is a `Serial` variant
+ * with its own serial number, otherwise the shareable product itself.
  */
 public class HuaweiFactory implements IFactory {
 
     public HuaweiFactory() {
-        System.out.println("Create Huawei factory.");
+        EventLog.log("Create Huawei factory.");
     }
 
     /**
@@ -20,8 +25,8 @@ public class HuaweiFactory implements IFactory {
      */
     @Override
     public IProduct makePhone() {
-        System.out.println("Make Huawei phone...");
-        return new HuaweiPhone();
+        EventLog.log("Make Huawei phone...");
+        return SerialNumbers.isUsedForProducts() ? new HuaweiPhone.Serial() : new HuaweiPhone();
     }
 
     /**
@@ -29,8 +34,8 @@ public class HuaweiFactory implements IFactory {
      */
     @Override
     public IProduct makeLaptop() {
-        System.out.println("Make Huawei laptop...");
-        return new HuaweiLaptop();
+        EventLog.log("Make Huawei laptop...");
+        return SerialNumbers.isUsedForProducts() ? new HuaweiLaptop.Serial() : new HuaweiLaptop();
     }
 
     /**
@@ -38,7 +43,7 @@ public class HuaweiFactory implements IFactory {
      */
     @Override
     public IProduct makeEarphone() {
-        System.out.println("Make Huawei earphone...");
-        return new HuaweiEarphone();
+        EventLog.log("Make Huawei earphone...");
+        return SerialNumbers.isUsedForProducts() ? new HuaweiEarphone.Serial() : new HuaweiEarphone();
     }
 }
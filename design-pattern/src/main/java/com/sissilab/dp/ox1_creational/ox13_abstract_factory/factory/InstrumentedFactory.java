@@ -0,0 +1,64 @@
+package com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory;
+
+import com.sissilab.dp.common.metrics.CreationMetrics;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.IProduct;
+
+import java.util.Objects;
+
+/**
+ * Instrumented Factory: decorates a family factory to count the creations of each product type and sample their
+ * latency in `CreationMetrics`, one meter per (family, product type).
+ * <p>
+ * Use it: `IFactory appleFactory = InstrumentedFactory.of("Apple", new AppleFactory());`
+ */
+public final class InstrumentedFactory implements IFactory {
+
+    private final IFactory delegate;
+
+    private final CreationMetrics.Meter phones;
+
+    private final CreationMetrics.Meter laptops;
+
+    private final CreationMetrics.Meter earphones;
+
+    private InstrumentedFactory(IFactory delegate, CreationMetrics metrics, String family) {
+        this.delegate = delegate;
+        this.phones = metrics.meter(family, "phone");
+        this.laptops = metrics.meter(family, "laptop");
+        this.earphones = metrics.meter(family, "earphone");
+    }
+
+    public static IFactory of(String family, IFactory delegate) {
+        return of(CreationMetrics.global(), family, delegate);
+    }
+
+    public static IFactory of(CreationMetrics metrics, String family, IFactory delegate) {
+        Objects.requireNonNull(metrics, "metrics");
+        Objects.requireNonNull(delegate, "delegate");
+        return new InstrumentedFactory(delegate, metrics, family);
+    }
+
+    @Override
+    public IProduct makePhone() {
+        long start = phones.start();
+        IProduct phone = delegate.makePhone();
+        phones.stop(start);
+        return phone;
+    }
+
+    @Override
+    public IProduct makeLaptop() {
+        long start = laptops.start();
+        IProduct laptop = delegate.makeLaptop();
+        laptops.stop(start);
+        return laptop;
+    }
+
+    @Override
+    public IProduct makeEarphone() {
+        long start = earphones.start();
+        IProduct earphone = delegate.makeEarphone();
+        earphones.stop(start);
+        return earphone;
+    }
+}
@@ -0,0 +1,26 @@
+package com.sissilab.dp.ox1_creational.ox13_abstract_factory.product;
+
+import com.sissilab.dp.common.log.EventLog;
+import com.sissilab.dp.common.serial.SerialNumbers;
+import com.sissilab.dp.processor.Product;
+
+// Apple Concrete Earphone Product
+@Shareable
+@Product(key = "earphone", family = "Apple")
+public class AppleEarphone extends AbstractEarphone {
+
+    @Override
+    public void desc() {
+        EventLog.log("I am Apple earphone.");
+    }
+
+    // with its own serial number (`SerialNumbers.useForProducts()`): an identity, not shareable
+    public static final class Serial extends AppleEarphone {
+        private final long serialNumber = SerialNumbers.nextForProduct();
+
+        @Override
+        public long getSerialNumber() {
+            return serialNumber;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.sissilab.dp.ox1_creational.ox13_abstract_factory.product;
+
+import com.sissilab.dp.common.log.EventLog;
+import com.sissilab.dp.common.serial.SerialNumbers;
+import com.sissilab.dp.processor.Product;
+
+// Huawei Concrete Laptop Product
+@Shareable
+@Product(key = "laptop", family = "Huawei")
+public class HuaweiLaptop extends AbstractLaptop {
+
+    @Override
+    public void desc() {
+        EventLog.log("I am Huawei laptop.");
+    }
+
+    // with its own serial number (`SerialNumbers.useForProducts()`): an identity, not shareable
+    public static final class Serial extends HuaweiLaptop {
+        private final long serialNumber = SerialNumbers.nextForProduct();
+
+        @Override
+        public long getSerialNumber() {
+            return serialNumber;
+        }
+    }
+}
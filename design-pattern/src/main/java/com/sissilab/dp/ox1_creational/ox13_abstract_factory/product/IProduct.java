@@ -0,0 +1,18 @@
+package com.sissilab.dp.ox1_creational.ox13_abstract_factory.product;
+
+// Abstract Product
+public interface IProduct {
+    /**
+     * Product description
+     */
+    void desc();
+
+    /**
+     * Serial number: unique among the products, never repeated across restarts (see `SerialNumbers`),
+     * 0 for a product without serial number (not a `Serial` variant, or created while no `SerialNumbers` are used).
+     * A `@Shareable` product has none: its canonical instance is shared by every caller
+     */
+    default long getSerialNumber() {
+        return 0;
+    }
+}
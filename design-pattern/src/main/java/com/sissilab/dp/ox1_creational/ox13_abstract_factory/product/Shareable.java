@@ -0,0 +1,21 @@
+package com.sissilab.dp.ox1_creational.ox13_abstract_factory.product;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Shareable: the instances of the product are stateless or immutable, one canonical instance can be returned to every
+ * caller by a `FlyweightFactory`.
+ * <p>
+ * Every instance field of the class and of its superclasses must be final, of a primitive, String, boxed primitive,
+ * enum or `@Shareable` type: checked by `FlyweightFactory`, which rejects the class otherwise.
+ * Not inherited: a subclass must be marked again, it may add state.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Shareable {
+}
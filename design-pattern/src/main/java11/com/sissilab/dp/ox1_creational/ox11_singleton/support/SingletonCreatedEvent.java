@@ -0,0 +1,19 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import jdk.jfr.*;
+
+// an instance of a singleton has been constructed
+@Name(SingletonCreatedEvent.NAME)
+@Label("Singleton Created")
+@Category({"Design Pattern", "Singleton"})
+@StackTrace(false)
+class SingletonCreatedEvent extends Event {
+    static final String NAME = "com.sissilab.dp.singleton.Created";
+
+    @Label("Singleton")
+    Class<?> singleton;
+
+    @Label("Construction Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long constructionTime;
+}
@@ -0,0 +1,51 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+/**
+ * Singleton Events: runtime telemetry of the singletons, emitted as JDK Flight Recorder events.
+ * <p>
+ * Java 11+ version: each call allocates its event, checks whether it is enabled in a recording and commits it.
+ * When no recording is running, the event is not enabled and its allocation is removed by escape analysis:
+ * the cost is a `System.nanoTime()` per slow path.
+ */
+public final class SingletonEvents {
+
+    private SingletonEvents() {
+    }
+
+    /**
+     * The beginning of a timed section, to be passed to `created()` or `slowPath()`: a `System.nanoTime()` timestamp.
+     */
+    public static long begin() {
+        return System.nanoTime();
+    }
+
+    public static void created(Class<?> singleton, long begin) {
+        SingletonCreatedEvent event = new SingletonCreatedEvent();
+        if (event.isEnabled()) {
+            event.singleton = singleton;
+            event.constructionTime = System.nanoTime() - begin;
+            event.commit();
+        }
+    }
+
+    public static void slowPath(Class<?> singleton, long begin) {
+        SingletonSlowPathEvent event = new SingletonSlowPathEvent();
+        if (event.isEnabled()) {
+            event.singleton = singleton;
+            event.waitTime = System.nanoTime() - begin;
+            event.commit();
+        }
+    }
+
+    /**
+     * @param kind "readResolve" or "clone"
+     */
+    public static void intercepted(Class<?> singleton, String kind) {
+        SingletonInterceptedEvent event = new SingletonInterceptedEvent();
+        if (event.isEnabled()) {
+            event.singleton = singleton;
+            event.kind = kind;
+            event.commit();
+        }
+    }
+}
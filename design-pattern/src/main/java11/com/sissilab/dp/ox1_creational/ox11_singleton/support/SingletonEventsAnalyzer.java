@@ -0,0 +1,137 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Singleton Events Analyzer: summarizes the singleton events of a `.jfr` recording into per-singleton statistics.
+ * <p>
+ * Besides the events of `SingletonEvents`, the contended `jdk.JavaMonitorEnter` events whose top frame is a `getInstance()`
+ * method are counted as the blocking of that singleton: it covers synchronized `getInstance()` methods
+ * (e.g. `LazySingletonSynchronized`), which cannot time their own monitor. Their default threshold is 20 ms,
+ * lower it to see shorter waits: `-XX:StartFlightRecording=filename=app.jfr,jdk.JavaMonitorEnter#threshold=0ms`.
+ * <p>
+ * Use it: `java -cp design-pattern.jar com.sissilab.dp.ox1_creational.ox11_singleton.support.SingletonEventsAnalyzer app.jfr`
+ */
+public final class SingletonEventsAnalyzer {
+
+    private SingletonEventsAnalyzer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: SingletonEventsAnalyzer <recording.jfr>");
+            return;
+        }
+        print(analyze(Paths.get(args[0])), System.out);
+    }
+
+    /**
+     * @return singleton class name -> statistics, sorted by name
+     */
+    static Map<String, Stats> analyze(Path recording) throws IOException {
+        Map<String, Stats> statistics = new TreeMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            String type = event.getEventType().getName();
+            switch (type) {
+                case SingletonCreatedEvent.NAME:
+                    stats(statistics, event.getClass("singleton").getName()).created(event.getLong("constructionTime"));
+                    break;
+                case SingletonSlowPathEvent.NAME:
+                    stats(statistics, event.getClass("singleton").getName()).slowPath(event.getLong("waitTime"));
+                    break;
+                case SingletonInterceptedEvent.NAME:
+                    stats(statistics, event.getClass("singleton").getName()).intercepted(event.getString("kind"));
+                    break;
+                case "jdk.JavaMonitorEnter":
+                    String singleton = getInstanceCaller(event.getStackTrace());
+                    if (null != singleton) {
+                        stats(statistics, singleton).blocked(event.getDuration());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return statistics;
+    }
+
+    static void print(Map<String, Stats> statistics, PrintStream out) {
+        out.printf("%-90s %9s %12s %9s %12s %12s %9s %12s %11s %5s%n", "singleton", "creations", "construct ms",
+                "slowPaths", "wait ms", "max wait ms", "blocked", "blocked ms", "readResolve", "clone");
+        for (Map.Entry<String, Stats> entry : statistics.entrySet()) {
+            Stats s = entry.getValue();
+            out.printf("%-90s %9d %12.3f %9d %12.3f %12.3f %9d %12.3f %11d %5d%n", entry.getKey(), s.creations, millis(s.constructionNanos),
+                    s.slowPaths, millis(s.waitNanos), millis(s.maxWaitNanos), s.blocked, millis(s.blockedNanos), s.readResolves, s.clones);
+        }
+    }
+
+    private static Stats stats(Map<String, Stats> statistics, String singleton) {
+        return statistics.computeIfAbsent(singleton, name -> new Stats());
+    }
+
+    // the class of the top frame if it is a `getInstance()` method, null otherwise
+    private static String getInstanceCaller(RecordedStackTrace stackTrace) {
+        if (null == stackTrace) {
+            return null;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        if (frames.isEmpty() || !"getInstance".equals(frames.get(0).getMethod().getName())) {
+            return null;
+        }
+        return frames.get(0).getMethod().getType().getName();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    // the statistics of one singleton in a recording
+    static final class Stats {
+        private long creations;
+        private long constructionNanos;
+        private long slowPaths;
+        private long waitNanos;
+        private long maxWaitNanos;
+        private long blocked;
+        private long blockedNanos;
+        private long readResolves;
+        private long clones;
+
+        void created(long nanos) {
+            creations++;
+            constructionNanos += nanos;
+        }
+
+        void slowPath(long nanos) {
+            slowPaths++;
+            waitNanos += nanos;
+            maxWaitNanos = Math.max(maxWaitNanos, nanos);
+        }
+
+        void blocked(Duration duration) {
+            blocked++;
+            blockedNanos += duration.toNanos();
+        }
+
+        void intercepted(String kind) {
+            if ("clone".equals(kind)) {
+                clones++;
+            } else {
+                readResolves++;
+            }
+        }
+    }
+}
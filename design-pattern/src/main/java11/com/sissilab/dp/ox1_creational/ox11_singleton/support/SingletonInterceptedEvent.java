@@ -0,0 +1,18 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import jdk.jfr.*;
+
+// a serialization or cloning attack has been intercepted
+@Name(SingletonInterceptedEvent.NAME)
+@Label("Singleton Attack Intercepted")
+@Category({"Design Pattern", "Singleton"})
+class SingletonInterceptedEvent extends Event {
+    static final String NAME = "com.sissilab.dp.singleton.Intercepted";
+
+    @Label("Singleton")
+    Class<?> singleton;
+
+    @Label("Kind")
+    @Description("readResolve or clone")
+    String kind;
+}
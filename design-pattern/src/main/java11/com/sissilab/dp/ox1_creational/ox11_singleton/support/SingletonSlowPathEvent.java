@@ -0,0 +1,20 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import jdk.jfr.*;
+
+// a thread entered the slow path of a lazy initialization
+@Name(SingletonSlowPathEvent.NAME)
+@Label("Singleton Slow Path")
+@Category({"Design Pattern", "Singleton"})
+@StackTrace(false)
+class SingletonSlowPathEvent extends Event {
+    static final String NAME = "com.sissilab.dp.singleton.SlowPath";
+
+    @Label("Singleton")
+    Class<?> singleton;
+
+    @Label("Wait Time")
+    @Description("Time waited for the monitor or for the initializing thread")
+    @Timespan(Timespan.NANOSECONDS)
+    long waitTime;
+}
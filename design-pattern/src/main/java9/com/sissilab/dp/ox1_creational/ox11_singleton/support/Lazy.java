@@ -0,0 +1,195 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Lazy (Java 9+ version, packaged under META-INF/versions/9 of the multi-release jar).
+ * <p>
+ * Same algorithm and API as the Java 8 version in `src/main/java`, but `value` is a plain field accessed via VarHandle:
+ * the fast path is an acquire read and the publication is a release write, which is all the DCL idiom needs
+ * and avoids the full fence of a volatile access on weakly-ordered CPUs (e.g. ARM).
+ * <p>
+ * The description below is shared with the Java 8 version.
+ * <p>
+ * Lazy: a reusable, lock-free lazy holder to replace the hand-written double-checked locking (DCL).
+ * <p>
+ * Compared to DCL (`volatile` + `synchronized (Xxx.class)`):
+ * 1. fast path: a single acquire read of `value`, the first check of DCL
+ * 2. slow path: the initializing thread is elected by CAS (single-flight), no class-level monitor is involved,
+ * so other `synchronized static` methods of the singleton class are never blocked by a slow constructor
+ * 3. other threads arriving during initialization are parked on a lock-free wait stack and woken up once the value is published or the supplier fails
+ * 4. if the supplier throws, the holder goes back to the uninitialized state and the next caller retries
+ * 5. a recursive `get()` from inside the supplier fails fast with an IllegalStateException instead of deadlocking
+ * <p>
+ * Use it:
+ * `private static final Lazy<HeavyResource> RESOURCE = Lazy.of(HeavyResource::new);`
+ * `RESOURCE.get().useResource();`
+ *
+ * @param <T> the type of the lazily created value, which must not be null
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    // holds the created value: null means it has not been published yet, only accessed through VALUE
+    private T value;
+
+    // creates the value: cleared after publishing to release anything captured by the lambda
+    private Supplier<? extends T> supplier;
+
+    // the thread that is creating the value, null when nobody is initializing
+    private volatile Thread initializer;
+
+    // Treiber stack of threads waiting for the initializer
+    private volatile Waiter waiters;
+
+    private static final VarHandle VALUE;
+    private static final VarHandle INITIALIZER;
+    private static final VarHandle WAITERS;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            VALUE = lookup.findVarHandle(Lazy.class, "value", Object.class);
+            INITIALIZER = lookup.findVarHandle(Lazy.class, "initializer", Thread.class);
+            WAITERS = lookup.findVarHandle(Lazy.class, "waiters", Waiter.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Lazy(Supplier<? extends T> supplier) {
+        this.supplier = Objects.requireNonNull(supplier, "supplier");
+    }
+
+    public static <T> Lazy<T> of(Supplier<? extends T> supplier) {
+        return new Lazy<>(supplier);
+    }
+
+    /**
+     * Get the value, creating it on the first call.
+     */
+    @Override
+    public T get() {
+        // fast path: a single acquire read
+        T v = getAcquire();
+        if (null != v) {
+            return v;
+        }
+        return getSlowPath();
+    }
+
+    /**
+     * @return whether the value has been created, without triggering the creation
+     */
+    public boolean isInitialized() {
+        return null != getAcquire();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T getAcquire() {
+        return (T) VALUE.getAcquire(this);
+    }
+
+    private T getSlowPath() {
+        Thread current = Thread.currentThread();
+        long begin = SingletonEvents.begin();
+        boolean interrupted = false;
+        try {
+            for (; ; ) {
+                T v = getAcquire();
+                if (null != v) {
+                    // initialized by another thread, possibly after waiting for it
+                    SingletonEvents.slowPath(v.getClass(), begin);
+                    return v;
+                }
+                Thread owner = initializer;
+                if (null == owner) {
+                    if (INITIALIZER.compareAndSet(this, null, current)) {
+                        return initialize();
+                    }
+                } else if (owner == current) {
+                    throw new IllegalStateException("Recursive initialization: the supplier calls get() on its own Lazy");
+                } else {
+                    interrupted |= awaitInitializer();
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // only executed by the thread which won the CAS on `initializer`
+    private T initialize() {
+        try {
+            // re-check: the previous initializer may have published between our read of `value` and the CAS
+            T v = getAcquire();
+            if (null == v) {
+                long begin = SingletonEvents.begin();
+                v = Objects.requireNonNull(supplier.get(), "Lazy supplier returned null");
+                SingletonEvents.created(v.getClass(), begin);
+                VALUE.setRelease(this, v);
+                supplier = null;
+            }
+            return v;
+        } finally {
+            // success: `value` is published before releasing; failure: let the next caller retry
+            initializer = null;
+            wakeUpWaiters();
+        }
+    }
+
+    // parks once: a wake-up (publication, failure of the initializer, spurious) goes back to the loop of getSlowPath(),
+    // which re-checks the state and queues a new node if the value is still being created
+    // @return whether the thread was interrupted while parked, the flag is cleared to park again
+    private boolean awaitInitializer() {
+        Waiter node = new Waiter(Thread.currentThread());
+        try {
+            do {
+                if (null != getAcquire() || null == initializer) {
+                    return false;
+                }
+                node.next = waiters;
+            } while (!WAITERS.compareAndSet(this, node.next, node));
+            // re-check after queuing: the initializer may have released before seeing the node
+            if (null == getAcquire() && null != initializer) {
+                LockSupport.park(this);
+            }
+            // `get()` cannot throw InterruptedException: the caller restores the flag when leaving
+            return Thread.interrupted();
+        } finally {
+            node.thread = null;
+        }
+    }
+
+    private void wakeUpWaiters() {
+        Waiter node = (Waiter) WAITERS.getAndSet(this, (Waiter) null);
+        while (null != node) {
+            Thread thread = node.thread;
+            if (null != thread) {
+                LockSupport.unpark(thread);
+            }
+            node = node.next;
+        }
+    }
+
+    @Override
+    public String toString() {
+        T v = getAcquire();
+        return "Lazy[" + (null != v ? v : "not initialized") + "]";
+    }
+
+    // a thread parked in the slow path
+    private static final class Waiter {
+        volatile Thread thread;
+        Waiter next;
+
+        Waiter(Thread thread) {
+            this.thread = thread;
+        }
+    }
+}
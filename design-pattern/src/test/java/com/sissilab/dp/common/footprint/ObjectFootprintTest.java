@@ -0,0 +1,80 @@
+package com.sissilab.dp.common.footprint;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.function.Supplier;
+
+public class ObjectFootprintTest {
+
+    /**
+     * Object Footprint: the retained size counts every reachable object once, shared references included
+     */
+    @Test
+    public void testRetainedSize() {
+        byte[] cache = new byte[1000];
+        Holder holder = new Holder(cache, cache);
+
+        ObjectFootprint footprint = ObjectFootprint.of("holder", holder);
+
+        Assertions.assertEquals(2, footprint.getRetainedObjects()); // √
+        Assertions.assertEquals(ObjectFootprint.shallowSizeOf(holder) + ObjectFootprint.shallowSizeOf(cache), footprint.getRetainedSize()); // √
+        Assertions.assertTrue(ObjectFootprint.shallowSizeOf(cache) >= 1000);
+    }
+
+    /**
+     * Object Footprint: the layout lists every field, and the padding up to the shallow size
+     */
+    @Test
+    public void testLayout() {
+        ObjectFootprint footprint = ObjectFootprint.of("holder", new Holder(null, null));
+
+        long fields = footprint.getFields().stream().filter(field -> !field.isPadding()).count();
+        Assertions.assertEquals(3, fields); // √
+        ObjectFootprint.FieldLayout last = footprint.getFields().get(footprint.getFields().size() - 1);
+        Assertions.assertEquals(footprint.getShallowSize(), last.getOffset() + last.getSize()); // √
+        Assertions.assertEquals(0, footprint.getShallowSize() % 8);
+    }
+
+    /**
+     * Object Footprint: a capturing lambda (a hidden class on Java 15+, refused by `Unsafe.objectFieldOffset()`) is measured
+     * with an estimated layout, and its captured values are walked
+     */
+    @Test
+    public void testCapturingLambda() {
+        byte[] cache = new byte[1000];
+        Supplier<byte[]> lambda = () -> cache;
+
+        ObjectFootprint footprint = ObjectFootprint.of("lambda", lambda);
+
+        Assertions.assertEquals(2, footprint.getRetainedObjects()); // √
+        Assertions.assertEquals(ObjectFootprint.shallowSizeOf(lambda) + ObjectFootprint.shallowSizeOf(cache), footprint.getRetainedSize());
+        Assertions.assertEquals(1, footprint.getFields().stream().filter(field -> !field.isPadding()).count());
+        System.out.print(footprint.toLayoutString());
+    }
+
+    /**
+     * Object Footprint: the captured values of a lambda of a JDK module cannot be read by reflection, they are not walked
+     */
+    @Test
+    public void testJdkLambda() {
+        Comparator<String> comparator = Comparator.comparing(String::length);
+
+        ObjectFootprint footprint = ObjectFootprint.of("comparator", comparator);
+
+        Assertions.assertTrue(footprint.getShallowSize() > 0); // √
+        Assertions.assertTrue(footprint.getRetainedObjects() >= 1);
+    }
+
+    private static class Holder {
+        final byte[] first;
+        final byte[] second;
+        final boolean flag = true;
+
+        Holder(byte[] first, byte[] second) {
+            this.first = first;
+            this.second = second;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.sissilab.dp.common.log;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: logging a product message on a factory hot path.
+ * <p>
+ * - printStream: `println()` on a shared PrintStream (what `System.out.println()` does), every thread takes its lock
+ * - eventLog: `EventLog.emit()`, a slot claimed in the ring buffer, written by the background writer
+ * - eventLogDisabled: a disabled `EventLog`, the cost left on the hot path with `-Devent-log.enabled=false`
+ * <p>
+ * Both outputs discard the bytes, to measure the logging path and not the terminal.
+ * Run it with several threads to see the contention: `EventLogBenchmark 1 4 8`.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventLogBenchmark {
+
+    private static final String MESSAGE = "Make Apple phone...";
+
+    private final PrintStream printStream = new PrintStream(new DiscardingOutputStream(), false);
+
+    private final EventLog eventLog = new EventLog(8192, new PrintStream(new DiscardingOutputStream(), false));
+
+    private final EventLog disabledEventLog = new EventLog(8192, new PrintStream(new DiscardingOutputStream(), false));
+
+    @Setup
+    public void setup() {
+        disabledEventLog.enable(false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        eventLog.close();
+        disabledEventLog.close();
+    }
+
+    @Benchmark
+    public void printStream() {
+        printStream.println(MESSAGE);
+    }
+
+    @Benchmark
+    public void eventLog() {
+        eventLog.emit(MESSAGE);
+    }
+
+    @Benchmark
+    public void eventLogDisabled() {
+        disabledEventLog.emit(MESSAGE);
+    }
+
+    private static final class DiscardingOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+
+    /**
+     * @param args the thread counts to run, 1 by default
+     */
+    public static void main(String[] args) throws RunnerException {
+        String[] threads = args.length > 0 ? args : new String[]{"1"};
+        for (String count : threads) {
+            Options options = new OptionsBuilder()
+                    .include(EventLogBenchmark.class.getName() + "\\.")
+                    .threads(Integer.parseInt(count))
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.sissilab.dp.common.log;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class EventLogTest {
+
+    /**
+     * Event Log: every message of every producer is written once, in the order of each producer, even when the ring is full
+     */
+    @Test
+    public void testNoMessageLostMultiThread() throws InterruptedException {
+        final int THREAD_COUNT = 8;
+        final int MESSAGE_COUNT = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        // much smaller than the number of messages: the producers wait for the writer
+        EventLog eventLog = new EventLog(64, new PrintStream(buffer, false));
+        String[][] messages = new String[THREAD_COUNT][MESSAGE_COUNT];
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            for (int i = 0; i < MESSAGE_COUNT; i++) {
+                messages[t][i] = t + ":" + i;
+            }
+        }
+        CountDownLatch startLatch = new CountDownLatch(1);
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            final String[] own = messages[t];
+            executorService.submit(() -> {
+                startLatch.await();
+                for (String message : own) {
+                    eventLog.emit(message);
+                }
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        Assertions.assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+        eventLog.close();
+
+        String[] lines = buffer.toString().split(System.lineSeparator());
+        Assertions.assertEquals(THREAD_COUNT * MESSAGE_COUNT, lines.length); // √
+        int[] next = new int[THREAD_COUNT];
+        for (String line : lines) {
+            int separator = line.indexOf(':');
+            int thread = Integer.parseInt(line.substring(0, separator));
+            Assertions.assertEquals(next[thread]++, Integer.parseInt(line.substring(separator + 1))); // √
+        }
+    }
+
+    /**
+     * Event Log: a disabled log drops the messages
+     */
+    @Test
+    public void testDisabled() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        EventLog eventLog = new EventLog(8, new PrintStream(buffer, false));
+        eventLog.enable(false);
+        eventLog.emit("dropped");
+        eventLog.enable(true);
+        eventLog.emit("written");
+        eventLog.flush();
+
+        Assertions.assertEquals("written" + System.lineSeparator(), buffer.toString()); // √
+        eventLog.close();
+    }
+
+    /**
+     * Event Log: an idle writer parks without a timeout, and the next message wakes it up
+     */
+    @Test
+    public void testIdleWriterParks() throws InterruptedException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        EventLog eventLog = new EventLog(8, new PrintStream(buffer, false));
+        try {
+            eventLog.emit("first");
+            eventLog.flush();
+            // the back-off ends after about 3 ms
+            for (int i = 0; i < 100 && Thread.State.WAITING != eventLog.writer.getState(); i++) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            Assertions.assertEquals(Thread.State.WAITING, eventLog.writer.getState()); // √ parked, not polling
+
+            eventLog.emit("second");
+            eventLog.flush();
+            Assertions.assertEquals("first" + System.lineSeparator() + "second" + System.lineSeparator(), buffer.toString()); // √
+        } finally {
+            eventLog.close();
+        }
+    }
+
+    /**
+     * Event Log: `close()` writes the pending messages and stops the writer, the messages logged after are dropped
+     */
+    @Test
+    public void testClose() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        EventLog eventLog = new EventLog(1024, new PrintStream(buffer, false));
+        for (int i = 0; i < 1000; i++) {
+            eventLog.emit("message " + i);
+        }
+        eventLog.close();
+
+        Assertions.assertFalse(eventLog.writer.isAlive()); // √
+        Assertions.assertEquals(1000, buffer.toString().split(System.lineSeparator()).length); // √
+        eventLog.enable(true);
+        eventLog.emit("dropped");
+        eventLog.flush(); // returns: nothing left to write
+        Assertions.assertFalse(buffer.toString().contains("dropped")); // √
+    }
+}
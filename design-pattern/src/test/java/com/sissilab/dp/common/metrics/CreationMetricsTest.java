@@ -0,0 +1,83 @@
+package com.sissilab.dp.common.metrics;
+
+import com.sissilab.dp.common.log.EventLog;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.AppleFactory;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.IFactory;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.InstrumentedFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class CreationMetricsTest {
+
+    /**
+     * Latency Histogram: every value falls in a bucket at most 12.5% wide, the percentiles are the bucket upper bounds
+     */
+    @Test
+    public void testHistogram() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            Assertions.assertTrue(bucket < LatencyHistogram.BUCKET_COUNT);
+            long upperBound = LatencyHistogram.upperBoundOf(bucket);
+            Assertions.assertTrue(value <= upperBound && upperBound - value <= value / 8, value + " -> " + upperBound); // √
+        }
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000);
+        }
+        Assertions.assertEquals(100, histogram.count()); // √
+        Assertions.assertEquals(100_000, histogram.max());
+        long p50 = histogram.percentile(50);
+        Assertions.assertTrue(p50 >= 50_000 && p50 <= 50_000 * 9 / 8, String.valueOf(p50)); // √
+        Assertions.assertEquals(100_000, histogram.percentile(100));
+    }
+
+    /**
+     * Creation Metrics: every creation of every thread is counted per family and product type
+     */
+    @Test
+    public void testCountMultiThread() throws InterruptedException {
+        final int THREAD_COUNT = 8;
+        final int CREATION_COUNT = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        EventLog.setEnabled(false);
+
+        // time every creation
+        CreationMetrics metrics = CreationMetrics.of(1);
+        IFactory factory = InstrumentedFactory.of(metrics, "Apple", new AppleFactory());
+        CountDownLatch startLatch = new CountDownLatch(1);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < CREATION_COUNT; j++) {
+                    factory.makePhone();
+                    if (j % 2 == 0) {
+                        factory.makeLaptop();
+                    }
+                }
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        Assertions.assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+        EventLog.setEnabled(true);
+
+        List<CreationMetrics.Stats> snapshot = metrics.snapshot();
+        Assertions.assertEquals(3, snapshot.size());
+        // sorted by family then product type
+        Assertions.assertEquals("earphone", snapshot.get(0).getProductType()); // √
+        Assertions.assertEquals(0, snapshot.get(0).getCount());
+        Assertions.assertEquals(THREAD_COUNT * CREATION_COUNT / 2, snapshot.get(1).getCount()); // √
+        CreationMetrics.Stats phones = snapshot.get(2);
+        Assertions.assertEquals(THREAD_COUNT * CREATION_COUNT, phones.getCount()); // √
+        Assertions.assertEquals(phones.getCount(), phones.getSampled()); // √
+        Assertions.assertTrue(phones.getP50() <= phones.getP99() && phones.getP99() <= phones.getMax());
+    }
+}
@@ -0,0 +1,70 @@
+package com.sissilab.dp.common.serial;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JMH benchmark: a serial number per created product.
+ * <p>
+ * - atomicLong: a shared `AtomicLong.incrementAndGet()`, every thread writes the same cache line
+ * - serialNumbers: `SerialNumbers.next()`, thread-local blocks of `blockSize` serials, a persisted mark every 64 blocks
+ * <p>
+ * Run it with several threads to see the contention: `SerialNumbersBenchmark 1 8`.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerialNumbersBenchmark {
+
+    @Param({"64", "1024"})
+    public int blockSize;
+
+    private final AtomicLong atomicLong = new AtomicLong();
+
+    private SerialNumbers serialNumbers;
+
+    @Setup
+    public void setup() throws IOException {
+        serialNumbers = SerialNumbers.of(Files.createTempDirectory("serial-numbers").resolve("serial-numbers.dat"), blockSize, 64);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        serialNumbers.close();
+    }
+
+    @Benchmark
+    public long atomicLong() {
+        return atomicLong.incrementAndGet();
+    }
+
+    @Benchmark
+    public long serialNumbers() {
+        return serialNumbers.next();
+    }
+
+    /**
+     * @param args the thread counts to run, 1 by default
+     */
+    public static void main(String[] args) throws RunnerException {
+        String[] threads = args.length > 0 ? args : new String[]{"1"};
+        for (String count : threads) {
+            Options options = new OptionsBuilder()
+                    .include(SerialNumbersBenchmark.class.getName() + "\\.")
+                    .threads(Integer.parseInt(count))
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.sissilab.dp.common.serial;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.FactoryProvider;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.IProduct;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.AppleFactory;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.FlyweightFactory;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.IFactory;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.ApplePhone;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class SerialNumbersTest {
+
+    /**
+     * Serial Numbers: the serials of every thread are unique, and increasing per thread
+     */
+    @Test
+    public void testUniqueMultiThread() throws Exception {
+        final int THREAD_COUNT = 8;
+        final int SERIAL_COUNT = 100_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        Path file = Files.createTempDirectory("serial-numbers").resolve("serial-numbers.dat");
+        // small blocks: many reservations and persisted marks
+        try (SerialNumbers serialNumbers = SerialNumbers.of(file, 16, 4)) {
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                futures.add(executorService.submit(() -> {
+                    startLatch.await();
+                    long[] serials = new long[SERIAL_COUNT];
+                    for (int j = 0; j < SERIAL_COUNT; j++) {
+                        serials[j] = serialNumbers.next();
+                    }
+                    return serials;
+                }));
+            }
+            startLatch.countDown();
+            long[] all = new long[THREAD_COUNT * SERIAL_COUNT];
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                long[] serials = futures.get(i).get(30, TimeUnit.SECONDS);
+                for (int j = 1; j < SERIAL_COUNT; j++) {
+                    Assertions.assertTrue(serials[j] > serials[j - 1]); // √
+                }
+                System.arraycopy(serials, 0, all, i * SERIAL_COUNT, SERIAL_COUNT);
+            }
+            executorService.shutdown();
+
+            Arrays.sort(all);
+            Assertions.assertTrue(all[0] >= SerialNumbers.FIRST);
+            for (int i = 1; i < all.length; i++) {
+                Assertions.assertNotEquals(all[i - 1], all[i]); // √
+            }
+        }
+    }
+
+    /**
+     * Serial Numbers: after a restart on the same file, the serials resume above every serial handed out before
+     */
+    @Test
+    public void testRestart() throws IOException {
+        Path file = Files.createTempDirectory("serial-numbers").resolve("serial-numbers.dat");
+        long last = 0;
+        try (SerialNumbers serialNumbers = SerialNumbers.of(file, 16, 4)) {
+            for (int i = 0; i < 1000; i++) {
+                last = serialNumbers.next();
+            }
+            // same file, same JVM
+            Assertions.assertThrows(IllegalStateException.class, () -> SerialNumbers.of(file, 16, 4)); // √
+        }
+        // closed without any shutdown step, like a crash: only the persisted mark is left
+        try (SerialNumbers serialNumbers = SerialNumbers.of(file, 16, 4)) {
+            Assertions.assertTrue(serialNumbers.next() > last); // √
+        }
+    }
+
+    /**
+     * Serial Numbers: once used for the products, every product gets its own serial number
+     */
+    @Test
+    public void testProducts() throws IOException {
+        Path file = Files.createTempDirectory("serial-numbers").resolve("serial-numbers.dat");
+        try (SerialNumbers serialNumbers = SerialNumbers.of(file, 16, 4)) {
+            SerialNumbers.useForProducts(serialNumbers);
+            IProduct first = FactoryProvider.phone().createProduct();
+            IProduct second = FactoryProvider.laptop().createProduct();
+
+            Assertions.assertTrue(first.getSerialNumber() >= SerialNumbers.FIRST);
+            Assertions.assertTrue(second.getSerialNumber() > first.getSerialNumber()); // √
+        } finally {
+            SerialNumbers.useForProducts(null);
+        }
+        Files.delete(file);
+        Files.delete(file.getParent());
+    }
+
+    /**
+     * Serial Numbers: once used for the products, every product of a family factory gets its own serial number,
+     * through a flyweight factory too (not shared)
+     */
+    @Test
+    public void testFamilyProducts() throws IOException {
+        Path file = Files.createTempDirectory("serial-numbers").resolve("serial-numbers.dat");
+        try (SerialNumbers serialNumbers = SerialNumbers.of(file, 16, 4)) {
+            SerialNumbers.useForProducts(serialNumbers);
+            IFactory appleFactory = new AppleFactory();
+            com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.IProduct first = appleFactory.makePhone();
+            com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.IProduct second = appleFactory.makePhone();
+
+            Assertions.assertTrue(first instanceof ApplePhone); // √
+            Assertions.assertTrue(first.getSerialNumber() >= SerialNumbers.FIRST);
+            Assertions.assertTrue(second.getSerialNumber() > first.getSerialNumber()); // √
+
+            IFactory flyweightFactory = FlyweightFactory.of(new AppleFactory());
+            com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.IProduct third = flyweightFactory.makePhone();
+            Assertions.assertNotSame(third, flyweightFactory.makePhone()); // √
+            Assertions.assertTrue(third.getSerialNumber() > second.getSerialNumber()); // √
+        } finally {
+            SerialNumbers.useForProducts(null);
+        }
+        Files.delete(file);
+        Files.delete(file.getParent());
+
+        Assertions.assertEquals(0, new AppleFactory().makePhone().getSerialNumber()); // √ the shareable product again
+    }
+
+    /**
+     * Serial Numbers: opt-in, without it a product is created without serial number and without opening any file
+     */
+    @Test
+    public void testProductsWithoutSerialNumbers() {
+        Path defaultFile = Paths.get("serial-numbers.dat");
+        boolean existed = Files.exists(defaultFile);
+
+        Assertions.assertEquals(0, FactoryProvider.phone().createProduct().getSerialNumber()); // √
+        Assertions.assertEquals(existed, Files.exists(defaultFile)); // √ no file created
+    }
+}
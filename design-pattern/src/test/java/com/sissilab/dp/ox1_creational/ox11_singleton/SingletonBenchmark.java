@@ -0,0 +1,141 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton;
+
+import com.sissilab.dp.ox1_creational.ox11_singleton.perfect.EagerSingletonStaticBlockPerfect;
+import com.sissilab.dp.ox1_creational.ox11_singleton.perfect.EagerSingletonStaticConstantPerfect;
+import com.sissilab.dp.ox1_creational.ox11_singleton.perfect.EnumSingletonPerfect;
+import com.sissilab.dp.ox1_creational.ox11_singleton.perfect.LazySingletonDoubleCheckPerfect;
+import com.sissilab.dp.ox1_creational.ox11_singleton.perfect.LazySingletonLazyHolderPerfect;
+import com.sissilab.dp.ox1_creational.ox11_singleton.perfect.StaticInnerSingletonPerfect;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: the cost of `getInstance()` for every singleton variant under contention.
+ * <p>
+ * Each benchmark method only fetches the singleton instance, so the result is the pure access cost of the variant:
+ * - Throughput (ops/ns): how many `getInstance()` calls all threads complete per nanosecond
+ * - AverageTime (ns/op): how long one `getInstance()` call takes
+ * - gc.alloc.rate.norm (B/op): allocation per call from the GC profiler, which should be 0 for every variant
+ * <p>
+ * Run it via `main()`, optionally passing the max thread count (default: available processors):
+ * the suite is repeated for 1, 2, 4, ... N threads to show how each variant behaves under contention.
+ * Expect `LazySingletonSynchronized` to degrade as threads grow (class-level lock on every call),
+ * while the others stay flat because their fast path is a plain or volatile field read.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SingletonBenchmark {
+
+    /******************************************************************
+     ************************ 1. Lazy Singleton ***********************
+     ******************************************************************/
+
+    @Benchmark
+    public Object lazySingletonSynchronized() {
+        return LazySingletonSynchronized.getInstance();
+    }
+
+    @Benchmark
+    public Object lazySingletonDoubleCheck() {
+        return LazySingletonDoubleCheck.getInstance();
+    }
+
+    /******************************************************************
+     *********************** 2. Eager Singleton ***********************
+     ******************************************************************/
+
+    @Benchmark
+    public Object eagerSingletonStaticConstant() {
+        return EagerSingletonStaticConstant.getInstance();
+    }
+
+    @Benchmark
+    public Object eagerSingletonStaticBlock() {
+        return EagerSingletonStaticBlock.getInstance();
+    }
+
+    /******************************************************************
+     ***************** 3. Static Inner Class Singleton ****************
+     ******************************************************************/
+
+    @Benchmark
+    public Object staticInnerClassSingleton() {
+        return StaticInnerClassSingleton.getInstance();
+    }
+
+    /******************************************************************
+     *********************** 4. Enum Singleton ************************
+     ******************************************************************/
+
+    @Benchmark
+    public Object enumSingleton() {
+        return EnumSingleton.instance;
+    }
+
+    /******************************************************************
+     ********************** 5. Perfect Versions ***********************
+     ******************************************************************/
+
+    @Benchmark
+    public Object lazySingletonDoubleCheckPerfect() {
+        return LazySingletonDoubleCheckPerfect.getInstance();
+    }
+
+    @Benchmark
+    public Object lazySingletonLazyHolderPerfect() {
+        return LazySingletonLazyHolderPerfect.getInstance();
+    }
+
+    @Benchmark
+    public Object eagerSingletonStaticConstantPerfect() {
+        return EagerSingletonStaticConstantPerfect.getInstance();
+    }
+
+    @Benchmark
+    public Object eagerSingletonStaticBlockPerfect() {
+        return EagerSingletonStaticBlockPerfect.getInstance();
+    }
+
+    @Benchmark
+    public Object staticInnerSingletonPerfect() {
+        return StaticInnerSingletonPerfect.getInstance();
+    }
+
+    @Benchmark
+    public Object enumSingletonPerfect() {
+        return EnumSingletonPerfect.instance;
+    }
+
+    /**
+     * Usage: `main [maxThreads]`, the suite runs for 1, 2, 4, ... maxThreads threads.
+     */
+    public static void main(String[] args) throws RunnerException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+            run(threads);
+        }
+        // also cover N itself when it is not a power of two, e.g. 6 or 12 cores
+        if (Integer.bitCount(maxThreads) != 1) {
+            run(maxThreads);
+        }
+    }
+
+    private static void run(int threads) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SingletonBenchmark.class.getName() + "\\.")
+                .threads(threads)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton;
+
+import com.sissilab.dp.ox1_creational.ox11_singleton.perfect.StaticInnerSingletonPerfect;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: round trip of messages referencing a singleton,
+ * default serialization + `readResolve()` (`StaticInnerSingletonSerializationProof`)
+ * vs the compact `SingletonToken` written by `writeReplace()` (`StaticInnerSingletonPerfect`).
+ * <p>
+ * `messages` is the number of objects referencing the singleton in the same stream:
+ * 1 is a typical RPC payload, where the descriptors dominate; 1000 is a batch, where the singleton is a back-reference after its first occurrence.
+ * The bytes on the wire are printed by `main()` before running the benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SingletonSerializationBenchmark {
+
+    @Param({"1", "1000"})
+    public int messages;
+
+    private List<Message> defaultSerialization;
+
+    private List<Message> compactToken;
+
+    @Setup
+    public void setup() {
+        defaultSerialization = messages(messages, StaticInnerSingletonSerializationProof.getInstance());
+        compactToken = messages(messages, StaticInnerSingletonPerfect.getInstance());
+    }
+
+    @Benchmark
+    public Object defaultSerialization() throws IOException, ClassNotFoundException {
+        return deserialize(serialize(defaultSerialization));
+    }
+
+    @Benchmark
+    public Object compactToken() throws IOException, ClassNotFoundException {
+        return deserialize(serialize(compactToken));
+    }
+
+    // a message referencing the singleton, e.g. a request carrying its handler
+    static class Message implements Serializable {
+        private static final long serialVersionUID = 1L;
+        final int id;
+        final Object singleton;
+
+        Message(int id, Object singleton) {
+            this.id = id;
+            this.singleton = singleton;
+        }
+    }
+
+    private static List<Message> messages(int count, Object singleton) {
+        List<Message> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(new Message(i, singleton));
+        }
+        return messages;
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+            objectOutputStream.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return objectInputStream.readObject();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException, ClassNotFoundException {
+        for (int count : new int[]{1, 1000}) {
+            System.out.printf("messages=%d: default serialization %d bytes, compact token %d bytes%n", count,
+                    serialize(messages(count, StaticInnerSingletonSerializationProof.getInstance())).length,
+                    serialize(messages(count, StaticInnerSingletonPerfect.getInstance())).length);
+        }
+        // the token is resolved to the canonical instance
+        List<?> roundTrip = (List<?>) deserialize(serialize(messages(1, StaticInnerSingletonPerfect.getInstance())));
+        System.out.println("same instance after round trip: " + (((Message) roundTrip.get(0)).singleton == StaticInnerSingletonPerfect.getInstance()));
+
+        Options options = new OptionsBuilder()
+                .include(SingletonSerializationBenchmark.class.getName() + "\\.")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,35 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.perfect;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+
+public class SingletonTokenTest {
+
+    /**
+     * Every perfect singleton is serialized as a `SingletonToken` and deserialized as its canonical instance
+     */
+    @Test
+    public void testSerializationAttackOnPerfectSingletons() throws IOException, ClassNotFoundException {
+        Object[] instances = {
+                LazySingletonDoubleCheckPerfect.getInstance(),
+                LazySingletonLazyHolderPerfect.getInstance(),
+                StaticInnerSingletonPerfect.getInstance(),
+                EagerSingletonStaticConstantPerfect.getInstance(),
+                EagerSingletonStaticBlockPerfect.getInstance()
+        };
+
+        for (Object instance : instances) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+                objectOutputStream.writeObject(instance);
+            }
+            Object testSerializableInstance;
+            try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                testSerializableInstance = objectInputStream.readObject();
+            }
+            Assertions.assertSame(instance, testSerializableInstance); // √
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.management.Notification;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+public class EvictableLazyTest {
+
+    /**
+     * Evictable Lazy: an idle resource is evicted, and transparently rebuilt by the next access
+     */
+    @Test
+    public void testIdleEvictionAndRebuild() throws InterruptedException {
+        EvictableLazy<Object> lazy = EvictableLazy.of(Object::new, Duration.ofMillis(100), false);
+
+        Object instance1 = lazy.get();
+        Assertions.assertSame(instance1, lazy.get()); // √
+        Assertions.assertTrue(lazy.isCreated());
+
+        // idle for more than 2 periods
+        TimeUnit.MILLISECONDS.sleep(500);
+        Assertions.assertFalse(lazy.isCreated());
+        Assertions.assertEquals(1, lazy.stats().getIdleEvictions());
+
+        Object instance2 = lazy.get();
+        Assertions.assertNotSame(instance1, instance2); // √
+        Assertions.assertEquals(1, lazy.stats().getRebuilds());
+    }
+
+    /**
+     * Evictable Lazy: a resource accessed more often than the idle timeout is never evicted
+     */
+    @Test
+    public void testNoEvictionWhileAccessed() throws InterruptedException {
+        EvictableLazy<Object> lazy = EvictableLazy.of(Object::new, Duration.ofMillis(200), false);
+
+        Object instance = lazy.get();
+        for (int i = 0; i < 10; i++) {
+            TimeUnit.MILLISECONDS.sleep(50);
+            Assertions.assertSame(instance, lazy.get()); // √
+        }
+        Assertions.assertEquals(0, lazy.stats().getEvictions());
+    }
+
+    /**
+     * Evictable Lazy: memory pressure evicts every created resource
+     */
+    @Test
+    public void testMemoryPressureEviction() {
+        // a group of its own: the holders of the other tests are not evicted
+        EvictableLazy.EvictionGroup group = new EvictableLazy.EvictionGroup();
+        EvictableLazy<Object> lazy = EvictableLazy.of(Object::new, null, true, group);
+        EvictableLazy<Object> notCreated = EvictableLazy.of(Object::new, null, false, group);
+        Object instance = lazy.get();
+
+        group.evictAll();
+
+        Assertions.assertFalse(lazy.isCreated());
+        Assertions.assertEquals(1, lazy.stats().getMemoryPressureEvictions());
+        Assertions.assertEquals(0, notCreated.stats().getMemoryPressureEvictions());
+        Assertions.assertNotSame(instance, lazy.get()); // √
+    }
+
+    /**
+     * Evictable Lazy: only a collection threshold notification of the MemoryMXBean (still above the threshold after a GC) evicts
+     */
+    @Test
+    public void testMemoryPressureNotification() {
+        EvictableLazy.EvictionGroup group = new EvictableLazy.EvictionGroup();
+        EvictableLazy<Object> lazy = EvictableLazy.of(Object::new, null, false, group);
+        lazy.get();
+
+        // usage threshold: the pool may be freed by the next GC, nothing is evicted
+        group.handleNotification(new Notification(MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED, this, 1), null);
+        Assertions.assertTrue(lazy.isCreated()); // √
+
+        group.handleNotification(new Notification(MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED, this, 2), null);
+        Assertions.assertFalse(lazy.isCreated()); // √
+        Assertions.assertEquals(1, lazy.stats().getMemoryPressureEvictions());
+    }
+
+    /**
+     * Evictable Lazy: `evictOnMemoryPressure()` sets the collection usage threshold of the heap pools
+     */
+    @Test
+    public void testEvictOnMemoryPressureThresholds() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EvictableLazy.evictOnMemoryPressure(1.0));
+
+        EvictableLazy.evictOnMemoryPressure(0.95);
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long max = pool.getUsage().getMax();
+            if (MemoryType.HEAP == pool.getType() && pool.isCollectionUsageThresholdSupported() && max > 0) {
+                Assertions.assertEquals((long) (max * 0.95), pool.getCollectionUsageThreshold(), pool.getName()); // √
+            }
+        }
+    }
+
+    /**
+     * Evictable Lazy: the idle check does not keep an unreachable holder alive
+     */
+    @Test
+    public void testUnreachableHolderIsCollected() throws InterruptedException {
+        EvictableLazy<Object> lazy = EvictableLazy.of(Object::new, Duration.ofMillis(10), false);
+        lazy.get();
+        WeakReference<EvictableLazy<Object>> reference = new WeakReference<>(lazy);
+        lazy = null;
+
+        for (int i = 0; i < 50 && null != reference.get(); i++) {
+            System.gc();
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        Assertions.assertNull(reference.get()); // √
+    }
+}
@@ -0,0 +1,86 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FailureAwareLazyTest {
+
+    /**
+     * Failure Aware Lazy: while a failing creation is in flight, the other callers wait for it instead of attempting it again
+     */
+    @Test
+    public void testSingleAttemptMultiThread() throws InterruptedException {
+        final int THREAD_COUNT = 50;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        AtomicInteger attempts = new AtomicInteger();
+        FailureAwareLazy<Object> lazy = FailureAwareLazy.of(() -> {
+            attempts.incrementAndGet();
+            try {
+                TimeUnit.MILLISECONDS.sleep(200);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            throw new IllegalStateException("backend unavailable");
+        }, Duration.ofSeconds(10), Duration.ofSeconds(10));
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        Future<Object>[] futures = new Future[THREAD_COUNT];
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures[i] = executorService.submit(() -> {
+                startLatch.await();
+                return lazy.get();
+            });
+        }
+        startLatch.countDown();
+
+        for (Future<Object> future : futures) {
+            Assertions.assertThrows(ExecutionException.class, future::get);
+        }
+        Assertions.assertEquals(1, attempts.get()); // √
+
+        executorService.shutdown();
+    }
+
+    /**
+     * Failure Aware Lazy: the failure is cached during the backoff, then the next attempt is allowed
+     */
+    @Test
+    public void testCachedFailureAndBackoff() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        FailureAwareLazy<String> lazy = FailureAwareLazy.of(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("backend unavailable");
+            }
+            return "ready";
+        }, Duration.ofMillis(200), Duration.ofSeconds(1));
+
+        Assertions.assertThrows(IllegalStateException.class, lazy::get);
+        // within the backoff: the cached failure, without calling the supplier
+        IllegalStateException cached = Assertions.assertThrows(IllegalStateException.class, lazy::get);
+        Assertions.assertEquals("backend unavailable", cached.getCause().getMessage());
+        Assertions.assertEquals(1, attempts.get()); // √
+
+        TimeUnit.MILLISECONDS.sleep(300);
+        Assertions.assertEquals("ready", lazy.get()); // √
+        Assertions.assertTrue(lazy.isInitialized());
+        Assertions.assertEquals(2, attempts.get());
+    }
+
+    /**
+     * Failure Aware Lazy: calling `get()` on the same holder from its supplier fails fast instead of waiting for itself
+     */
+    @Test
+    public void testRecursiveInitialization() {
+        FailureAwareLazy<Object>[] self = new FailureAwareLazy[1];
+        self[0] = FailureAwareLazy.of(() -> self[0].get(), Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        IllegalStateException e = Assertions.assertThrows(IllegalStateException.class, self[0]::get); // √
+        Assertions.assertTrue(e.getMessage().startsWith("Recursive initialization"), e.getMessage());
+        Assertions.assertFalse(self[0].isInitialized());
+    }
+}
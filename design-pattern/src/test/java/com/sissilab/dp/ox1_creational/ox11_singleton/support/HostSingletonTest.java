@@ -0,0 +1,86 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+public class HostSingletonTest {
+
+    /**
+     * Host Singleton: several JVMs load the same singleton at the same time, only one of them builds it
+     */
+    @Test
+    public void testSingleBuildMultiProcess() throws IOException, InterruptedException {
+        final int PROCESS_COUNT = 3;
+        Path directory = Files.createTempDirectory("host-singleton");
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process[] processes = new Process[PROCESS_COUNT];
+        for (int i = 0; i < PROCESS_COUNT; i++) {
+            processes[i] = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), Child.class.getName(), directory.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(directory.resolve("out-" + i + ".txt").toFile())
+                    .start();
+        }
+        for (Process process : processes) {
+            Assertions.assertTrue(process.waitFor(60, TimeUnit.SECONDS));
+            Assertions.assertEquals(0, process.exitValue());
+        }
+
+        // one line per build
+        Assertions.assertEquals(1, Files.readAllLines(directory.resolve("builds.log")).size()); // √
+        for (int i = 0; i < PROCESS_COUNT; i++) {
+            String output = new String(Files.readAllBytes(directory.resolve("out-" + i + ".txt")), StandardCharsets.UTF_8).trim();
+            Assertions.assertEquals(String.valueOf(Child.SIZE - 1) + " -> " + (long) (Child.SIZE - 1) * (Child.SIZE - 1), output); // √
+        }
+
+        for (File file : directory.toFile().listFiles()) {
+            Files.delete(file.toPath());
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * A JVM of the host: loads a table of squares, built by the first process which gets the host lock.
+     */
+    public static class Child {
+        static final int SIZE = 1 << 16;
+
+        public static void main(String[] args) throws IOException {
+            Path directory = Paths.get(args[0]);
+            HostSingleton<LongBuffer> squares = HostSingleton.of(directory, "squares", () -> {
+                try {
+                    Files.write(directory.resolve("builds.log"), "build\n".getBytes(StandardCharsets.UTF_8),
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    // simulate an expensive build, so that the other processes are waiting for it
+                    TimeUnit.MILLISECONDS.sleep(500);
+                } catch (IOException | InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                // long: the square of 65535 overflows an int
+                long[] table = new long[SIZE];
+                for (int i = 0; i < SIZE; i++) {
+                    table[i] = (long) i * i;
+                }
+                return LongBuffer.wrap(table);
+            }, table -> {
+                ByteBuffer buffer = ByteBuffer.allocate(table.remaining() * Long.BYTES);
+                buffer.asLongBuffer().put(table.duplicate());
+                return buffer;
+            }, ByteBuffer::asLongBuffer);
+
+            LongBuffer table = squares.get();
+            System.out.println((SIZE - 1) + " -> " + table.get(SIZE - 1));
+        }
+    }
+}
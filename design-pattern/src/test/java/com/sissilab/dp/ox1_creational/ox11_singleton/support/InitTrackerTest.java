@@ -0,0 +1,122 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class InitTrackerTest {
+
+    /**
+     * Init Tracker: the creation of a nested singleton is excluded from the self time of the outer one,
+     * and the report ranks the most expensive self time first
+     */
+    @Test
+    public void testTrackingAndRanking() {
+        Outer.instance.toString();
+
+        InitTracker.Record outer = record(Outer.class);
+        InitTracker.Record inner = record(Inner.class);
+        // outer: 50 ms + inner 100 ms
+        Assertions.assertTrue(outer.getTotalNanos() >= TimeUnit.MILLISECONDS.toNanos(150), outer.toString()); // √
+        Assertions.assertTrue(outer.getSelfNanos() >= TimeUnit.MILLISECONDS.toNanos(50), outer.toString());
+        Assertions.assertTrue(outer.getSelfNanos() < TimeUnit.MILLISECONDS.toNanos(100), outer.toString()); // √
+        Assertions.assertTrue(inner.getSelfNanos() >= TimeUnit.MILLISECONDS.toNanos(100), inner.toString());
+        Assertions.assertEquals(inner.getTotalNanos(), inner.getSelfNanos());
+        Assertions.assertEquals(Thread.currentThread().getName(), outer.getThread()); // √
+
+        List<InitTracker.Record> report = InitTracker.report();
+        Assertions.assertTrue(report.indexOf(inner) < report.indexOf(outer)); // √
+    }
+
+    /**
+     * Init Tracker: the call site is the access which triggered the `<clinit>`, or the direct caller outside of a `<clinit>`
+     */
+    @Test
+    public void testCallSite() {
+        Outer.instance.toString();
+
+        // Outer: triggered by a test method, Inner: triggered by the constructor of Outer
+        Assertions.assertTrue(record(Outer.class).getCallSite().startsWith(InitTrackerTest.class.getName() + ".test"),
+                record(Outer.class).getCallSite()); // √
+        Assertions.assertTrue(record(Inner.class).getCallSite().startsWith(Outer.class.getName() + ".<init>"),
+                record(Inner.class).getCallSite()); // √
+
+        InitTracker.track(Direct.class, Direct::new);
+        Assertions.assertTrue(record(Direct.class).getCallSite().startsWith(InitTrackerTest.class.getName() + ".testCallSite"),
+                record(Direct.class).getCallSite()); // √
+    }
+
+    /**
+     * Init Tracker: the printed report has one ranked line per singleton, with its self time, total time, thread and call site
+     */
+    @Test
+    public void testPrintReport() {
+        Outer.instance.toString();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        InitTracker.printReport(new PrintStream(bytes, true));
+        String[] lines = new String(bytes.toByteArray(), StandardCharsets.UTF_8).split("\\R");
+
+        int records = InitTracker.report().size();
+        Assertions.assertEquals("Eager singleton initialization report (" + records + " singletons, most expensive first):", lines[0]); // √
+        Assertions.assertTrue(lines[1].contains("self(ms)") && lines[1].contains("triggered by"));
+        Assertions.assertEquals(records + 2, lines.length);
+        int outerLine = lineOf(lines, Outer.class);
+        int innerLine = lineOf(lines, Inner.class);
+        Assertions.assertTrue(innerLine < outerLine); // √
+        Assertions.assertTrue(lines[outerLine].startsWith((outerLine - 1) + " "), lines[outerLine]); // √ rank
+        Assertions.assertTrue(lines[outerLine].contains(Thread.currentThread().getName()));
+        Assertions.assertTrue(lines[outerLine].contains(record(Outer.class).getCallSite())); // √
+    }
+
+    private static InitTracker.Record record(Class<?> type) {
+        for (InitTracker.Record record : InitTracker.report()) {
+            if (type.getName().equals(record.getSingleton())) {
+                return record;
+            }
+        }
+        throw new AssertionError("Not tracked: " + type.getName());
+    }
+
+    private static int lineOf(String[] lines, Class<?> type) {
+        for (int i = 2; i < lines.length; i++) {
+            if (lines[i].contains(" " + type.getName() + " ")) {
+                return i;
+            }
+        }
+        throw new AssertionError("Not reported: " + type.getName());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class Outer {
+        private static final Outer instance = InitTracker.track(Outer.class, Outer::new);
+
+        private Outer() {
+            sleep(50);
+            Inner.instance.toString();
+        }
+    }
+
+    private static class Inner {
+        private static final Inner instance = InitTracker.track(Inner.class, Inner::new);
+
+        private Inner() {
+            sleep(100);
+        }
+    }
+
+    private static class Direct {
+    }
+}
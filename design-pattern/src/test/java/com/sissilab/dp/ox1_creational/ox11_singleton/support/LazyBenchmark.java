@@ -0,0 +1,80 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import com.sissilab.dp.ox1_creational.ox11_singleton.perfect.LazySingletonDoubleCheckPerfect;
+import com.sissilab.dp.ox1_creational.ox11_singleton.perfect.LazySingletonLazyHolderPerfect;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: the fast path of `Lazy.get()` compared to a plain field read, a volatile field read and hand-written DCL.
+ * <p>
+ * Once initialized, `lazyGet` should be indistinguishable from `volatileFieldRead` (Java 8 version)
+ * and from `plainFieldRead` on x86 (both versions), as the acquire read compiles to a plain load there.
+ * Run it with JDK 8 and JDK 9+ to compare the two versions of the multi-release jar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LazyBenchmark {
+
+    private Object plainField;
+
+    private volatile Object volatileField;
+
+    private Lazy<Object> lazy;
+
+    @Setup
+    public void setup() {
+        plainField = new Object();
+        volatileField = new Object();
+        lazy = Lazy.of(Object::new);
+        // only the fast path is measured
+        lazy.get();
+        LazySingletonDoubleCheckPerfect.getInstance();
+        LazySingletonLazyHolderPerfect.getInstance();
+    }
+
+    @Benchmark
+    public Object plainFieldRead() {
+        return plainField;
+    }
+
+    @Benchmark
+    public Object volatileFieldRead() {
+        return volatileField;
+    }
+
+    @Benchmark
+    public Object lazyGet() {
+        return lazy.get();
+    }
+
+    @Benchmark
+    public Object doubleCheckPerfect() {
+        return LazySingletonDoubleCheckPerfect.getInstance();
+    }
+
+    @Benchmark
+    public Object lazyHolderPerfect() {
+        return LazySingletonLazyHolderPerfect.getInstance();
+    }
+
+    /**
+     * Usage: `main [threads]`, default: 1 thread.
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LazyBenchmark.class.getName() + "\\.")
+                .threads(args.length > 0 ? Integer.parseInt(args[0]) : 1)
+                .build();
+        new Runner(options).run();
+    }
+}
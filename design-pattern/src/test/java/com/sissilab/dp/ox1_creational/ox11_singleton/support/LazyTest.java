@@ -0,0 +1,147 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LazyTest {
+
+    /**
+     * Lazy: the supplier is only called by the first `get()`
+     */
+    @Test
+    public void testLazySingleThread() {
+        AtomicInteger created = new AtomicInteger();
+        Lazy<Object> lazy = Lazy.of(() -> {
+            created.incrementAndGet();
+            return new Object();
+        });
+        Assertions.assertFalse(lazy.isInitialized());
+
+        Object instance1 = lazy.get();
+        Object instance2 = lazy.get();
+        // `instance1` and `instance2` are the same instance.
+        Assertions.assertSame(instance1, instance2); // √
+        Assertions.assertTrue(lazy.isInitialized());
+        Assertions.assertEquals(1, created.get());
+    }
+
+    /**
+     * Lazy: in a multi-threaded environment, only one thread runs the (slow) supplier and the others wait for it
+     */
+    @Test
+    public void testLazyMultiThread() throws ExecutionException, InterruptedException {
+        final int THREAD_COUNT = 100;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        AtomicInteger created = new AtomicInteger();
+        Lazy<Object> lazy = Lazy.of(() -> {
+            created.incrementAndGet();
+            try {
+                TimeUnit.MILLISECONDS.sleep(200);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return new Object();
+        });
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        Future<Object>[] futures = new Future[THREAD_COUNT];
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures[i] = executorService.submit(() -> {
+                startLatch.await();
+                return lazy.get();
+            });
+        }
+        startLatch.countDown();
+
+        Object firstInstance = futures[0].get();
+        for (Future<Object> future : futures) {
+            Assertions.assertSame(firstInstance, future.get()); // √
+        }
+        Assertions.assertEquals(1, created.get()); // √
+
+        executorService.shutdown();
+    }
+
+    /**
+     * Lazy: a failed supplier leaves the holder uninitialized, so the next call retries
+     */
+    @Test
+    public void testLazyRetryAfterFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+        Lazy<String> lazy = Lazy.of(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("backend unavailable");
+            }
+            return "ready";
+        });
+
+        Assertions.assertThrows(IllegalStateException.class, lazy::get);
+        Assertions.assertFalse(lazy.isInitialized());
+        Assertions.assertEquals("ready", lazy.get()); // √
+        Assertions.assertEquals(2, attempts.get());
+    }
+
+    /**
+     * Lazy: the threads parked while a (slow) supplier fails are woken up, retry, and all get the value of the first successful attempt
+     */
+    @Test
+    public void testLazyMultiThreadRetryAfterFailure() throws Exception {
+        final int THREAD_COUNT = 32;
+        final int FAILED_ATTEMPTS = 3;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        AtomicInteger attempts = new AtomicInteger();
+        Lazy<Object> lazy = Lazy.of(() -> {
+            int attempt = attempts.incrementAndGet();
+            try {
+                TimeUnit.MILLISECONDS.sleep(100);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            if (attempt <= FAILED_ATTEMPTS) {
+                throw new IllegalStateException("backend unavailable: attempt " + attempt);
+            }
+            return new Object();
+        });
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        Future<Object>[] futures = new Future[THREAD_COUNT];
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures[i] = executorService.submit(() -> {
+                startLatch.await();
+                for (; ; ) {
+                    try {
+                        return lazy.get();
+                    } catch (IllegalStateException e) {
+                        // the failed initializer retries, like the waiters woken up by its failure
+                    }
+                }
+            });
+        }
+        startLatch.countDown();
+
+        // a waiter lost after a failure would never return
+        Object firstInstance = futures[0].get(10, TimeUnit.SECONDS);
+        for (Future<Object> future : futures) {
+            Assertions.assertSame(firstInstance, future.get(10, TimeUnit.SECONDS)); // √
+        }
+        Assertions.assertEquals(FAILED_ATTEMPTS + 1, attempts.get()); // √
+
+        executorService.shutdown();
+    }
+
+    /**
+     * Lazy: calling `get()` on the same holder from its supplier fails fast instead of deadlocking
+     */
+    @Test
+    public void testLazyRecursiveInitialization() {
+        Lazy<Object>[] self = new Lazy[1];
+        self[0] = Lazy.of(() -> self[0].get());
+
+        Assertions.assertThrows(IllegalStateException.class, self[0]::get); // √
+    }
+}
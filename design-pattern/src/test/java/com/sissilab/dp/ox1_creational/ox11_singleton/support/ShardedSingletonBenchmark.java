@@ -0,0 +1,105 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * JMH benchmark: write-heavy statistics singleton (count + total latency per request) under contention.
+ * <p>
+ * - synchronizedSingleton: one instance, `synchronized` record
+ * - atomicLongSingleton: one instance, two `AtomicLong`s
+ * - shardedSingleton: `ShardedSingleton` of padded shards, a thread moves to another shard when its CAS fails
+ * <p>
+ * Usage: `main [threads]`, default: available processors.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShardedSingletonBenchmark {
+
+    private static final long LATENCY = 42;
+
+    @Benchmark
+    public void synchronizedSingleton() {
+        SynchronizedStats.instance.record(LATENCY);
+    }
+
+    @Benchmark
+    public void atomicLongSingleton() {
+        AtomicLongStats.instance.record(LATENCY);
+    }
+
+    @Benchmark
+    public void shardedSingleton() {
+        ShardedStats.instance.update(shard -> shard.tryRecord(LATENCY));
+    }
+
+    // the merged read, to show its cost compared to the writes
+    @Benchmark
+    @Threads(1)
+    public long shardedSingletonRead() {
+        return ShardedStats.instance.merge(0L, (sum, shard) -> sum + shard.count);
+    }
+
+    enum SynchronizedStats {
+        instance;
+
+        private long count;
+        private long totalLatency;
+
+        synchronized void record(long latency) {
+            count++;
+            totalLatency += latency;
+        }
+    }
+
+    enum AtomicLongStats {
+        instance;
+
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalLatency = new AtomicLong();
+
+        void record(long latency) {
+            count.incrementAndGet();
+            totalLatency.addAndGet(latency);
+        }
+    }
+
+    static final class ShardedStats extends PaddedShard {
+        static final ShardedSingleton<ShardedStats> instance = new ShardedSingleton<>(ShardedStats::new);
+
+        private static final AtomicLongFieldUpdater<ShardedStats> COUNT = AtomicLongFieldUpdater.newUpdater(ShardedStats.class, "count");
+        private static final AtomicLongFieldUpdater<ShardedStats> TOTAL_LATENCY = AtomicLongFieldUpdater.newUpdater(ShardedStats.class, "totalLatency");
+
+        volatile long count;
+        volatile long totalLatency;
+
+        // false if another thread is writing to this shard
+        boolean tryRecord(long latency) {
+            long c = count;
+            if (!COUNT.compareAndSet(this, c, c + 1)) {
+                return false;
+            }
+            TOTAL_LATENCY.addAndGet(this, latency);
+            return true;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ShardedSingletonBenchmark.class.getName() + "\\.")
+                .threads(args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ShardedSingletonTest {
+
+    static final class Counter extends PaddedShard {
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong failedCas = new AtomicLong();
+
+        boolean tryIncrement() {
+            long c = count.get();
+            if (count.compareAndSet(c, c + 1)) {
+                return true;
+            }
+            failedCas.incrementAndGet();
+            return false;
+        }
+    }
+
+    /**
+     * Sharded Singleton: the merged value contains every write of every thread
+     */
+    @Test
+    public void testShardedSingletonMultiThread() throws InterruptedException {
+        final int THREAD_COUNT = 16;
+        final int INCREMENTS = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        ShardedSingleton<Counter> counters = new ShardedSingleton<>(3, Counter::new);
+        Assertions.assertEquals(4, counters.shardCount());
+
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executorService.execute(() -> {
+                for (int j = 0; j < INCREMENTS; j++) {
+                    counters.shard().count.incrementAndGet();
+                }
+            });
+        }
+        executorService.shutdown();
+        Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        long total = counters.merge(0L, (sum, counter) -> sum + counter.count.get());
+        Assertions.assertEquals((long) THREAD_COUNT * INCREMENTS, total); // √
+    }
+
+    /**
+     * Sharded Singleton: `update()` retries on another shard after each failed CAS, no write is lost
+     */
+    @Test
+    public void testUpdateMovesContendedThreads() throws InterruptedException {
+        final int THREAD_COUNT = 16;
+        final int INCREMENTS = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        ShardedSingleton<Counter> counters = new ShardedSingleton<>(4, Counter::new);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executorService.execute(() -> {
+                for (int j = 0; j < INCREMENTS; j++) {
+                    counters.update(Counter::tryIncrement);
+                }
+            });
+        }
+        executorService.shutdown();
+        Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        long total = counters.merge(0L, (sum, counter) -> sum + counter.count.get());
+        Assertions.assertEquals((long) THREAD_COUNT * INCREMENTS, total); // √
+        System.out.println("Failed CAS: " + counters.merge(0L, (sum, counter) -> sum + counter.failedCas.get()));
+    }
+
+    /**
+     * Sharded Singleton: after `contended()`, the thread keeps writing to its new shard
+     */
+    @Test
+    public void testContendedMovesTheProbe() {
+        ShardedSingleton<Counter> counters = new ShardedSingleton<>(1 << 16, Counter::new);
+        Counter first = counters.shard();
+        Assertions.assertSame(first, counters.shard()); // √ stable until contended
+
+        Counter moved = counters.contended();
+        // a move may land on the same shard by chance (1 in 65536), not several in a row
+        for (int i = 0; i < 3 && moved == first; i++) {
+            moved = counters.contended();
+        }
+        Assertions.assertNotSame(first, moved); // √
+        Assertions.assertSame(moved, counters.shard()); // √
+    }
+}
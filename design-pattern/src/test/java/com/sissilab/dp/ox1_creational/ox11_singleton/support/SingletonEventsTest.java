@@ -0,0 +1,171 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import com.sissilab.dp.ox1_creational.ox11_singleton.perfect.EagerSingletonStaticConstantPerfect;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class SingletonEventsTest {
+
+    /**
+     * Singleton Events: a recording of a JVM creating singletons contains the events, summarized per singleton by the analyzer
+     * <p>
+     * The JDK Flight Recorder versions are in `META-INF/versions/11`, only selected from a multi-release jar:
+     * the recording JVM and the analyzer JVM get that directory first on their class path.
+     */
+    @Test
+    public void testRecordedEventsAnalysis() throws Exception {
+        Path versions = java11Classes();
+        Path directory = Files.createTempDirectory("singleton-events");
+        Path recording = directory.resolve("app.jfr");
+
+        run(directory.resolve("recording.txt"), versions, "-XX:StartFlightRecording=filename=" + recording + ",dumponexit=true",
+                Recorded.class.getName());
+        String analysis = run(directory.resolve("analysis.txt"), versions, SingletonEventsAnalyzer.class.getName(), recording.toString());
+
+        // singleton, creations, construct ms, slowPaths, wait ms, max wait ms, blocked, blocked ms, readResolve, clone
+        String[] resource = columns(analysis, Recorded.Resource.class);
+        Assertions.assertEquals("1", resource[1], analysis); // √ created once
+        Assertions.assertEquals("1", resource[3], analysis); // √ the other thread waited for it
+        Assertions.assertTrue(Double.parseDouble(resource[4]) >= 100, analysis);
+        String[] eager = columns(analysis, EagerSingletonStaticConstantPerfect.class);
+        Assertions.assertEquals("1", eager[1], analysis);
+        Assertions.assertEquals("1", eager[8], analysis); // √ readResolve
+        Assertions.assertEquals("1", eager[9], analysis); // √ clone
+
+        for (File file : directory.toFile().listFiles()) {
+            Files.delete(file.toPath());
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Singleton Events Analyzer: without a recording, the usage is printed and the JVM is not stopped
+     */
+    @Test
+    public void testAnalyzerUsage() throws Exception {
+        Path versions = java11Classes();
+        Path directory = Files.createTempDirectory("singleton-events");
+
+        String output = run(directory.resolve("usage.txt"), versions, SingletonEventsAnalyzer.class.getName());
+        Assertions.assertEquals("Usage: SingletonEventsAnalyzer <recording.jfr>", output); // √
+
+        Files.delete(directory.resolve("usage.txt"));
+        Files.delete(directory);
+    }
+
+    /**
+     * Singleton Events Analyzer: the Java 8 version of the class path only reports that Java 11+ is needed, it does not exit
+     */
+    @Test
+    public void testJava8AnalyzerReturns() throws Exception {
+        PrintStream err = System.err;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(bytes, true));
+        try {
+            SingletonEventsAnalyzer.main(new String[0]);
+        } finally {
+            System.setErr(err);
+        }
+        String output = new String(bytes.toByteArray(), StandardCharsets.UTF_8).trim();
+        // the Java 8 version when the tests run on the class directories, the Java 11+ one from a multi-release jar
+        Assertions.assertTrue(output.equals("Reading JDK Flight Recorder files requires Java 11+")
+                || output.startsWith("Usage: "), output); // √
+    }
+
+    // META-INF/versions/11 of the compiled classes, the test is skipped if it is not there (built or run with Java 8)
+    private static Path java11Classes() throws URISyntaxException {
+        Assumptions.assumeTrue(!System.getProperty("java.specification.version").startsWith("1."), "JDK Flight Recorder API requires Java 11+");
+        Path classes = Paths.get(SingletonEvents.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Path versions = classes.resolve("META-INF").resolve("versions").resolve("11");
+        Assumptions.assumeTrue(Files.isDirectory(versions), "no Java 11 classes in " + classes);
+        return versions;
+    }
+
+    // arguments: the JVM options, the main class and its arguments
+    private static String run(Path output, Path versions, String... arguments) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(Arrays.asList(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", versions + File.pathSeparator + System.getProperty("java.class.path")));
+        command.addAll(Arrays.asList(arguments));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(output.toFile()).start();
+        Assertions.assertTrue(process.waitFor(60, TimeUnit.SECONDS));
+        String text = new String(Files.readAllBytes(output), StandardCharsets.UTF_8).trim();
+        Assertions.assertEquals(0, process.exitValue(), text);
+        return text;
+    }
+
+    private static String[] columns(String analysis, Class<?> singleton) {
+        for (String line : analysis.split("\\R")) {
+            String[] columns = line.trim().split("\\s+");
+            if (singleton.getName().equals(columns[0])) {
+                return columns;
+            }
+        }
+        throw new AssertionError("No " + singleton.getName() + " in:\n" + analysis);
+    }
+
+    /**
+     * The recorded JVM: a lazy singleton created while another thread waits for it, a serialization and a cloning attack.
+     */
+    public static class Recorded {
+
+        public static void main(String[] args) throws Exception {
+            Lazy<Resource> lazy = Lazy.of(Resource::new);
+            ExecutorService executorService = Executors.newFixedThreadPool(2);
+            Future<Resource> first = executorService.submit(lazy::get);
+            TimeUnit.MILLISECONDS.sleep(50);
+            Future<Resource> second = executorService.submit(lazy::get);
+            first.get();
+            second.get();
+            executorService.shutdown();
+
+            EagerSingletonStaticConstantPerfect singleton = EagerSingletonStaticConstantPerfect.getInstance();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(singleton);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                in.readObject();
+            }
+            Method clone = EagerSingletonStaticConstantPerfect.class.getDeclaredMethod("clone");
+            clone.setAccessible(true);
+            try {
+                clone.invoke(singleton);
+            } catch (InvocationTargetException e) {
+                // CloneNotSupportedException
+            }
+        }
+
+        static class Resource {
+            Resource() {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(200);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+    }
+}
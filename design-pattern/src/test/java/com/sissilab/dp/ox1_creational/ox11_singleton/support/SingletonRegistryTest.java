@@ -0,0 +1,78 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingletonRegistryTest {
+
+    /**
+     * Singleton Registry: one instance per key, created only once even if many threads ask for it at the same time
+     */
+    @Test
+    public void testSingletonRegistryMultiThread() throws ExecutionException, InterruptedException {
+        final int THREAD_COUNT = 100;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        AtomicInteger created = new AtomicInteger();
+        SingletonRegistry<String, Object> registry = new SingletonRegistry<>(key -> {
+            created.incrementAndGet();
+            return new Object();
+        });
+
+        Future<Object>[] futures = new Future[THREAD_COUNT];
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            String tenant = "tenant-" + (i % 2);
+            futures[i] = executorService.submit(() -> registry.get(tenant));
+        }
+
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            Assertions.assertSame(futures[i % 2].get(), futures[i].get()); // √
+        }
+        Assertions.assertNotSame(futures[0].get(), futures[1].get());
+        Assertions.assertEquals(2, created.get());
+        Assertions.assertEquals(2, registry.stats().getCreations());
+        Assertions.assertEquals(THREAD_COUNT, registry.stats().getHits() + registry.stats().getMisses());
+
+        executorService.shutdown();
+    }
+
+    /**
+     * Singleton Registry: a slow key neither blocks the lookup nor the creation of the other keys
+     */
+    @Test
+    public void testSlowKeyDoesNotBlockOtherKeys() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        SingletonRegistry<String, String> registry = new SingletonRegistry<>(key -> {
+            if ("slow".equals(key)) {
+                slowStarted.countDown();
+                try {
+                    releaseSlow.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return key + "-instance";
+        });
+        registry.get("existing");
+
+        Future<String> slow = executorService.submit(() -> registry.get("slow"));
+        Assertions.assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+
+        // while "slow" is being created
+        Assertions.assertEquals("existing-instance", registry.get("existing")); // √
+        Assertions.assertEquals("fast-instance", registry.get("fast")); // √
+        Assertions.assertNull(registry.getIfPresent("slow"));
+
+        releaseSlow.countDown();
+        Assertions.assertEquals("slow-instance", slow.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(3, registry.size());
+
+        executorService.shutdown();
+    }
+}
@@ -0,0 +1,72 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class StartupOrchestratorTest {
+
+    /**
+     * Startup Orchestrator: independent singletons are initialized in parallel, each one after its dependencies,
+     * and the critical path is the longest chain of dependencies
+     */
+    @Test
+    public void testParallelStartupAndCriticalPath() {
+        ConcurrentHashMap<String, Long> initializedAt = new ConcurrentHashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        // config(100) -> dataSource(300) -> repository(100), config(100) -> cache(100), metrics(200)
+        StartupOrchestrator.Report report = new StartupOrchestrator()
+                .register("repository", slow("repository", 100, initializedAt), "dataSource")
+                .register("cache", slow("cache", 100, initializedAt), "config")
+                .register("dataSource", slow("dataSource", 300, initializedAt), "config")
+                .register("config", slow("config", 100, initializedAt))
+                .register("metrics", slow("metrics", 200, initializedAt))
+                .start(pool);
+        pool.shutdown();
+
+        Assertions.assertEquals(5, initializedAt.size());
+        Assertions.assertTrue(initializedAt.get("config") < initializedAt.get("dataSource")); // √
+        Assertions.assertTrue(initializedAt.get("dataSource") < initializedAt.get("repository")); // √
+        Assertions.assertEquals(Arrays.asList("config", "dataSource", "repository"), report.getCriticalPath()); // √
+        // sequentially 800 ms, the critical path bounds it to 500 ms (no bound on the wall clock: the machine may be busy)
+        Assertions.assertTrue(report.getSequentialNanos() >= TimeUnit.MILLISECONDS.toNanos(800));
+        Assertions.assertTrue(report.getCriticalPathNanos() >= TimeUnit.MILLISECONDS.toNanos(500)); // √
+        System.out.println(report);
+    }
+
+    /**
+     * Startup Orchestrator: a dependency cycle is rejected before anything is initialized
+     */
+    @Test
+    public void testDependencyCycle() {
+        List<String> initialized = new CopyOnWriteArrayList<>();
+        StartupOrchestrator orchestrator = new StartupOrchestrator()
+                .register("a", () -> initialized.add("a"), "b")
+                .register("b", () -> initialized.add("b"), "c")
+                .register("c", () -> initialized.add("c"), "a");
+
+        IllegalStateException e = Assertions.assertThrows(IllegalStateException.class, () -> orchestrator.start(ForkJoinPool.commonPool()));
+        Assertions.assertTrue(e.getMessage().contains("a -> b -> c -> a")); // √
+        Assertions.assertTrue(initialized.isEmpty()); // √
+    }
+
+    private static Supplier<Object> slow(String name, long millis, ConcurrentHashMap<String, Long> initializedAt) {
+        return () -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(millis);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            initializedAt.put(name, System.nanoTime());
+            return name;
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class VersionedSingletonTest {
+
+    /**
+     * Versioned Singleton: a replaced generation is only closed once its leases are released
+     */
+    @Test
+    public void testReloadClosesOldGenerationAfterLeases() {
+        AtomicInteger builds = new AtomicInteger();
+        ConcurrentLinkedQueue<Resource> closed = new ConcurrentLinkedQueue<>();
+        VersionedSingleton<Resource> singleton = VersionedSingleton.of(() -> new Resource(builds.incrementAndGet()), resource -> {
+            resource.closed = true;
+            closed.add(resource);
+        });
+
+        Resource first = singleton.get();
+        Assertions.assertSame(first, singleton.get()); // √
+        Assertions.assertEquals(1, singleton.generation());
+
+        VersionedSingleton.Lease<Resource> lease = singleton.acquire();
+        Assertions.assertEquals(2, singleton.reload());
+        Assertions.assertNotSame(first, singleton.get()); // √
+        // still leased: not closed
+        Assertions.assertTrue(closed.isEmpty()); // √
+        Assertions.assertSame(first, lease.get());
+
+        lease.close();
+        lease.close();
+        Assertions.assertEquals(1, closed.size()); // √
+        Assertions.assertSame(first, closed.peek());
+
+        // not leased: closed as soon as it is replaced
+        singleton.reload();
+        Assertions.assertEquals(2, closed.size()); // √
+    }
+
+    /**
+     * Versioned Singleton: leased instances are never closed while in use, even with concurrent reloads
+     */
+    @Test
+    public void testLeasesMultiThread() throws InterruptedException {
+        final int THREAD_COUNT = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        AtomicInteger builds = new AtomicInteger();
+        VersionedSingleton<Resource> singleton = VersionedSingleton.of(() -> new Resource(builds.incrementAndGet()), resource -> resource.closed = true);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger closedInUse = new AtomicInteger();
+
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executorService.submit(() -> {
+                while (running.get()) {
+                    try (VersionedSingleton.Lease<Resource> lease = singleton.acquire()) {
+                        if (lease.get().closed) {
+                            closedInUse.incrementAndGet();
+                        }
+                    }
+                }
+            });
+        }
+        for (int i = 0; i < 1000; i++) {
+            singleton.reload();
+        }
+        running.set(false);
+        executorService.shutdown();
+        Assertions.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(0, closedInUse.get()); // √
+        Assertions.assertEquals(builds.get(), singleton.generation());
+    }
+
+    private static class Resource {
+        final int id;
+        volatile boolean closed;
+
+        Resource(int id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support;
+
+import com.sissilab.dp.ox1_creational.ox11_singleton.perfect.EnumSingletonPerfect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WarmUpTest {
+
+    @AfterEach
+    public void tearDown() {
+        // `WarmUp` is global: forget the holders of the test, keep the others
+        WarmUp.instance.shutdown();
+        WarmUp.instance.unregister("test.first");
+        WarmUp.instance.unregister("test.second");
+        WarmUp.instance.unregister("test.lazy");
+        WarmUp.instance.unregister("test.classHolder");
+    }
+
+    /**
+     * Warm Up: the registered holders are initialized in the background once started, each one only once
+     */
+    @Test
+    public void testWarmUpReady() throws InterruptedException {
+        AtomicInteger created = new AtomicInteger();
+        Lazy<Object> first = Lazy.of(() -> slow(created));
+        Lazy<Object> second = Lazy.of(() -> slow(created));
+        WarmUp.instance.register("test.first", first);
+        WarmUp.instance.register("test.second", second);
+        Assertions.assertTrue(WarmUp.instance.report().get("test.first").startsWith("PENDING"));
+        Assertions.assertFalse(first.isInitialized());
+
+        WarmUp.instance.start(2);
+        Assertions.assertTrue(WarmUp.instance.awaitReady(10, TimeUnit.SECONDS)); // √
+        Assertions.assertTrue(WarmUp.instance.isReady());
+        Assertions.assertTrue(first.isInitialized() && second.isInitialized()); // √
+        Map<String, String> report = WarmUp.instance.report();
+        Assertions.assertTrue(report.get("test.first").startsWith("READY ("), report.toString());
+        Assertions.assertTrue(report.get("test.second").startsWith("READY ("), report.toString());
+
+        // a caller after the warm-up gets the warm value, no second creation
+        first.get();
+        Assertions.assertEquals(2, created.get()); // √
+    }
+
+    /**
+     * Warm Up: a failed `Lazy` is reported as FAILED, keeps the node not ready, and its next caller retries
+     */
+    @Test
+    public void testWarmUpFailedLazyIsRetried() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        Lazy<String> lazy = Lazy.of(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("backend unavailable");
+            }
+            return "ready";
+        });
+        WarmUp.instance.register("test.lazy", lazy);
+
+        WarmUp.instance.start(2);
+        Assertions.assertFalse(WarmUp.instance.awaitReady(10, TimeUnit.SECONDS)); // √
+        Assertions.assertFalse(WarmUp.instance.isReady());
+        String state = WarmUp.instance.report().get("test.lazy");
+        Assertions.assertTrue(state.startsWith("FAILED (java.lang.IllegalStateException: backend unavailable"), state); // √
+
+        Assertions.assertEquals("ready", lazy.get()); // √
+        Assertions.assertEquals(2, attempts.get());
+    }
+
+    /**
+     * Warm Up: a static inner holder class whose initializer failed cannot be retried, the class is unusable for good
+     */
+    @Test
+    public void testWarmUpFailedClassHolderIsPermanent() throws InterruptedException {
+        WarmUp.instance.register("test.classHolder", () -> FailingHolder.RESOURCE);
+
+        WarmUp.instance.start(2);
+        Assertions.assertFalse(WarmUp.instance.awaitReady(10, TimeUnit.SECONDS));
+        String state = WarmUp.instance.report().get("test.classHolder");
+        Assertions.assertTrue(state.startsWith("FAILED (java.lang.ExceptionInInitializerError"), state); // √
+
+        Assertions.assertThrows(NoClassDefFoundError.class, () -> FailingHolder.RESOURCE.toString()); // √
+    }
+
+    /**
+     * Warm Up: `shutdown()` keeps the registrations, the holders not warmed yet stay PENDING until `start()` again
+     */
+    @Test
+    public void testWarmUpShutdownAndRestart() throws InterruptedException {
+        Lazy<Object> first = Lazy.of(Object::new);
+        WarmUp.instance.register("test.first", first);
+        WarmUp.instance.shutdown();
+        Assertions.assertFalse(WarmUp.instance.isReady());
+
+        WarmUp.instance.start(1);
+        Assertions.assertTrue(WarmUp.instance.awaitReady(10, TimeUnit.SECONDS)); // √
+        WarmUp.instance.shutdown();
+        Assertions.assertFalse(WarmUp.instance.isReady()); // √ not started anymore
+        Assertions.assertTrue(WarmUp.instance.report().get("test.first").startsWith("READY"));
+    }
+
+    /**
+     * Warm Up: `EnumSingletonPerfect` registers its heavy resource when the enum is initialized
+     */
+    @Test
+    public void testEnumSingletonPerfectRegistration() {
+        EnumSingletonPerfect.instance.anyMethod();
+
+        Assertions.assertTrue(WarmUp.instance.report().containsKey("EnumSingletonPerfect.HeavyResource")); // √
+    }
+
+    private static Object slow(AtomicInteger created) {
+        created.incrementAndGet();
+        try {
+            TimeUnit.MILLISECONDS.sleep(100);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        return new Object();
+    }
+
+    private static class FailingHolder {
+        private static final Object RESOURCE = fail();
+
+        private static Object fail() {
+            throw new IllegalStateException("cannot load the resource");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.sissilab.dp.ox1_creational.ox11_singleton.support.spring;
+
+import com.sissilab.dp.ox1_creational.ox11_singleton.perfect.EnumSingletonPerfect;
+import com.sissilab.dp.ox1_creational.ox11_singleton.support.WarmUp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class WarmUpConfigurationTest {
+
+    private final WarmUpConfiguration configuration = new WarmUpConfiguration();
+
+    @AfterEach
+    public void tearDown() {
+        configuration.destroy();
+        WarmUp.instance.unregister("test.failing");
+    }
+
+    /**
+     * Warm Up Configuration: the listed classes register their holders, which are warmed, then `/ready` answers 200
+     */
+    @Test
+    public void testWarmUpRunnerAndReadiness() throws Exception {
+        configuration.warmUpRunner(2, new String[]{" " + EnumSingletonPerfect.class.getName()}).run(null);
+
+        Assertions.assertTrue(WarmUp.instance.report().containsKey("EnumSingletonPerfect.HeavyResource")); // √
+        // the heavy resource needs 3 s
+        Assertions.assertTrue(WarmUp.instance.awaitReady(10, TimeUnit.SECONDS));
+        ResponseEntity<Map<String, String>> ready = new WarmUpController().ready();
+        Assertions.assertEquals(HttpStatus.OK, ready.getStatusCode()); // √
+        Assertions.assertTrue(ready.getBody().get("EnumSingletonPerfect.HeavyResource").startsWith("READY"));
+    }
+
+    /**
+     * Warm Up Controller: `/ready` answers 503 with the failure cause while a holder is not warm
+     */
+    @Test
+    public void testNotReady() throws Exception {
+        WarmUp.instance.register("test.failing", () -> {
+            throw new IllegalStateException("backend unavailable");
+        });
+        configuration.warmUpRunner(2, new String[0]).run(null);
+        WarmUp.instance.awaitReady(10, TimeUnit.SECONDS);
+
+        ResponseEntity<Map<String, String>> ready = new WarmUpController().ready();
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ready.getStatusCode()); // √
+        String state = ready.getBody().get("test.failing");
+        Assertions.assertTrue(state.startsWith("FAILED (java.lang.IllegalStateException: backend unavailable"), state); // √
+    }
+}
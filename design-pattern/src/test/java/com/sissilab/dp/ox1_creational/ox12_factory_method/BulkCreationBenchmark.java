@@ -0,0 +1,95 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.EarphoneFactory;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.IFactory;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.LaptopFactory;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.PhoneFactory;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.factory.SimpleFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: bulk creation (`createProducts(n)`) vs a per-item loop.
+ * <p>
+ * - simpleFactoryLoop / simpleFactoryBulk: `SimpleFactory.createProduct(type)` n times vs `createProducts(type, n)`
+ * - factoryMethodLoop / factoryMethodBulk: `IFactory.createProduct()` n times vs the default `createProducts(n)`
+ * - factoryMethodBulkSpecialized: the overridden `PhoneFactory.createProducts(n)`
+ * <p>
+ * The factories of the loops are polymorphic, as in an import job handling every product type.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkCreationBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int n;
+
+    private final IFactory[] factories = {new PhoneFactory(), new LaptopFactory(), new EarphoneFactory()};
+
+    private final SimpleFactory.PRODUCT_TYPE[] types = SimpleFactory.PRODUCT_TYPE.values();
+
+    @Benchmark
+    public Object[] simpleFactoryLoop() {
+        Object[][] result = new Object[types.length][];
+        for (int t = 0; t < types.length; t++) {
+            Object[] products = new Object[n];
+            for (int i = 0; i < n; i++) {
+                products[i] = SimpleFactory.createProduct(types[t]);
+            }
+            result[t] = products;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Object[] simpleFactoryBulk() {
+        Object[][] result = new Object[types.length][];
+        for (int t = 0; t < types.length; t++) {
+            result[t] = SimpleFactory.createProducts(types[t], n);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Object[] factoryMethodLoop() {
+        Object[][] result = new Object[factories.length][];
+        for (int f = 0; f < factories.length; f++) {
+            Object[] products = new Object[n];
+            for (int i = 0; i < n; i++) {
+                products[i] = factories[f].createProduct();
+            }
+            result[f] = products;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Object[] factoryMethodBulk() {
+        Object[][] result = new Object[factories.length][];
+        for (int f = 0; f < factories.length; f++) {
+            result[f] = factories[f].createProducts(n);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Object[] factoryMethodBulkSpecialized() {
+        return factories[0].createProducts(n);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BulkCreationBenchmark.class.getName() + "\\.")
+                .build();
+        new Runner(options).run();
+    }
+}
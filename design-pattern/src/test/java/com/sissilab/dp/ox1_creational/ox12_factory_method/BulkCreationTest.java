@@ -0,0 +1,52 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.LaptopFactory;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.PhoneFactory;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.IProduct;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Laptop;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Phone;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.factory.SimpleFactory;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.product.Earphone;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+public class BulkCreationTest {
+
+    /**
+     * Bulk Creation: below and above the parallel threshold, every product is a distinct new product of the right type
+     */
+    @Test
+    public void testCreateProducts() {
+        for (int n : new int[]{0, 10, BulkCreation.PARALLEL_THRESHOLD * 2}) {
+            assertDistinct(SimpleFactory.createProducts(SimpleFactory.PRODUCT_TYPE.EARPHONE, n), n, Earphone.class);
+            // default bulk creation of IFactory
+            assertDistinct(new LaptopFactory().createProducts(n), n, Laptop.class);
+            // specialized bulk creation
+            assertDistinct(new PhoneFactory().createProducts(n), n, Phone.class);
+        }
+    }
+
+    /**
+     * Bulk Creation: the returned array is an `IProduct[]`, any product can be stored into it
+     */
+    @Test
+    public void testCreatedArrayAcceptsAnyProduct() {
+        IProduct[] products = new PhoneFactory().createProducts(2);
+        Assertions.assertSame(IProduct[].class, products.getClass()); // √
+        products[0] = new LaptopFactory().createProduct(); // no ArrayStoreException
+        Assertions.assertTrue(products[0] instanceof Laptop); // √
+    }
+
+    private static void assertDistinct(Object[] products, int n, Class<?> type) {
+        Assertions.assertEquals(n, products.length);
+        Set<Object> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(Arrays.asList(products));
+        Assertions.assertEquals(n, distinct.size()); // √
+        Assertions.assertTrue(Arrays.stream(products).allMatch(type::isInstance)); // √
+    }
+}
@@ -0,0 +1,94 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.DynamicFactory;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.IFactory;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.IProduct;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Phone;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: creating a product whose class is only known at runtime.
+ * <p>
+ * - direct: `new Phone()`, the baseline
+ * - reflection: `Constructor.newInstance()`
+ * - methodHandle: `MethodHandle.invokeExact()` on a handle held in a field
+ * - staticMethodHandle: the same handle in a static final field, a constant for the JIT
+ * - lambda: `DynamicFactory`, the constructor turned into a `Supplier` by LambdaMetafactory
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DynamicFactoryBenchmark {
+
+    private static final String PRODUCT_CLASS = "com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Phone";
+
+    private static final MethodHandle STATIC_HANDLE = constructorHandle();
+
+    private Constructor<? extends IProduct> constructor;
+
+    private MethodHandle handle;
+
+    private IFactory lambda;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        constructor = Class.forName(PRODUCT_CLASS).asSubclass(IProduct.class).getConstructor();
+        handle = constructorHandle();
+        lambda = DynamicFactory.of(PRODUCT_CLASS);
+    }
+
+    @Benchmark
+    public IProduct direct() {
+        return new Phone();
+    }
+
+    @Benchmark
+    public IProduct reflection() throws ReflectiveOperationException {
+        return constructor.newInstance();
+    }
+
+    @Benchmark
+    public IProduct methodHandle() throws Throwable {
+        return (IProduct) handle.invokeExact();
+    }
+
+    @Benchmark
+    public IProduct staticMethodHandle() throws Throwable {
+        return (IProduct) STATIC_HANDLE.invokeExact();
+    }
+
+    @Benchmark
+    public IProduct lambda() {
+        return lambda.createProduct();
+    }
+
+    private static MethodHandle constructorHandle() {
+        try {
+            return MethodHandles.publicLookup()
+                    .findConstructor(Class.forName(PRODUCT_CLASS), MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(IProduct.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DynamicFactoryBenchmark.class.getName() + "\\.")
+                .build();
+        new Runner(options).run();
+    }
+}
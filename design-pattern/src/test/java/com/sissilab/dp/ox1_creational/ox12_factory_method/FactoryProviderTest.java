@@ -0,0 +1,101 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.FactoryProvider;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.IFactory;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.PhoneFactory;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Laptop;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FactoryProviderTest {
+
+    /**
+     * Factory Provider: every thread gets the same factory instance of a product type
+    @Test
+    public void testSharedInstanceMultiThread() throws InterruptedException {
+        final int THREAD_COUNT = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        Set<Object> factories = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        CountDownLatch startLatch = new CountDownLatch(1);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executorService.submit(() -> {
+                startLatch.await();
+                factories.add(FactoryProvider.get("phone"));
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        Assertions.assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(1, factories.size()); // √
+        Assertions.assertTrue(factories.contains(FactoryProvider.phone()));
+        Assertions.assertTrue(FactoryProvider.phone() instanceof PhoneFactory);
+    }
+
+    /**
+     * Factory Provider: concurrent callers of a failing class name all get the failure, none waits forever,
+     * and a valid class name requested at the same time still gets its single factory
+     */
+    @Test
+    public void testFailingClassMultiThread() throws InterruptedException, ExecutionException, TimeoutException {
+        final int THREAD_COUNT = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        String missing = Laptop.class.getPackage().getName() + ".Tablet";
+        Set<Object> factories = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < 100; j++) {
+                    try {
+                        FactoryProvider.forClass(missing);
+                    } catch (IllegalArgumentException e) {
+                        failures.incrementAndGet();
+                    }
+                    factories.add(FactoryProvider.forClass(Laptop.class.getName()));
+                }
+                return null;
+            }));
+        }
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS); // √ no caller hangs
+        }
+        executorService.shutdown();
+
+        Assertions.assertEquals(THREAD_COUNT * 100, failures.get()); // √ every call failed, none got a cached result
+        Assertions.assertEquals(1, factories.size()); // √
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FactoryProvider.forClass(missing)); // √ retried
+    }
+
+    /**
+     * Factory Provider: one shared dynamic factory per configured class, unknown keys rejected
+     */
+    @Test
+    public void testKeys() {
+        IFactory laptops = FactoryProvider.forClass(Laptop.class.getName());
+        Assertions.assertSame(laptops, FactoryProvider.forClass(Laptop.class.getName())); // √
+        Assertions.assertTrue(laptops.createProduct() instanceof Laptop);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FactoryProvider.get("tablet")); // √
+    }
+}
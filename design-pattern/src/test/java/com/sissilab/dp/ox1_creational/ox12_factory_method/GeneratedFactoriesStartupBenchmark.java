@@ -0,0 +1,78 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.GeneratedFactories;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.GeneratedFamilies;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.IFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: startup cost of the factories, the first creation of every product in a fresh JVM.
+ * <p>
+ * - generated: the factories generated at compile time by the `@Product` processor (`new` behind a `switch`)
+ * - reflective: the usual plugin setup, product class names resolved by `Class.forName()` and instantiated through
+ * their constructor by reflection
+ * <p>
+ * Single shot, no warmup, one JVM per measurement: the time includes the class loading and the reflection
+ * initialization paid once at startup.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class GeneratedFactoriesStartupBenchmark {
+
+    // what a configuration file or a classpath scan would give
+    private static final String[] PRODUCT_CLASSES = {
+            "com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Earphone",
+            "com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Laptop",
+            "com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Phone",
+            "com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.AppleEarphone",
+            "com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.AppleLaptop",
+            "com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.ApplePhone",
+            "com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.HuaweiEarphone",
+            "com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.HuaweiLaptop",
+            "com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.HuaweiPhone",
+    };
+
+    @Benchmark
+    public void generated(Blackhole blackhole) {
+        for (String key : GeneratedFactories.keys()) {
+            blackhole.consume(GeneratedFactories.factory(key).createProduct());
+        }
+        for (String name : GeneratedFamilies.families()) {
+            IFactory family = GeneratedFamilies.family(name);
+            blackhole.consume(family.makePhone());
+            blackhole.consume(family.makeLaptop());
+            blackhole.consume(family.makeEarphone());
+        }
+    }
+
+    @Benchmark
+    public void reflective(Blackhole blackhole) throws ReflectiveOperationException {
+        Map<String, Class<?>> registry = new HashMap<>();
+        for (String className : PRODUCT_CLASSES) {
+            registry.put(className, Class.forName(className));
+        }
+        for (Class<?> productClass : registry.values()) {
+            blackhole.consume(productClass.getDeclaredConstructor().newInstance());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GeneratedFactoriesStartupBenchmark.class.getName() + "\\.")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,44 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.GeneratedFactories;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Earphone;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Laptop;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Phone;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.GeneratedFamilies;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.IFactory;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.HuaweiEarphone;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.HuaweiLaptop;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.HuaweiPhone;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class GeneratedFactoriesTest {
+
+    /**
+     * Generated Factories: one factory method factory per @Product key, unknown keys rejected
+     */
+    @Test
+    public void testFactoryMethod() {
+        Assertions.assertEquals(Arrays.asList("earphone", "laptop", "phone"), GeneratedFactories.keys()); // √
+        Assertions.assertTrue(GeneratedFactories.factory("phone").createProduct() instanceof Phone); // √
+        Assertions.assertTrue(GeneratedFactories.factory("laptop").createProduct() instanceof Laptop);
+        Assertions.assertTrue(GeneratedFactories.factory("earphone").createProduct() instanceof Earphone);
+        Assertions.assertSame(GeneratedFactories.factory("phone"), GeneratedFactories.factory("phone"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GeneratedFactories.factory("tablet")); // √
+    }
+
+    /**
+     * Generated Families: one abstract factory per @Product family, making the products of that family
+     */
+    @Test
+    public void testFamilies() {
+        Assertions.assertEquals(Arrays.asList("Apple", "Huawei"), GeneratedFamilies.families()); // √
+        IFactory huawei = GeneratedFamilies.family("Huawei");
+        Assertions.assertTrue(huawei.makePhone() instanceof HuaweiPhone); // √
+        Assertions.assertTrue(huawei.makeLaptop() instanceof HuaweiLaptop);
+        Assertions.assertTrue(huawei.makeEarphone() instanceof HuaweiEarphone);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GeneratedFamilies.family("Xiaomi")); // √
+    }
+}
@@ -0,0 +1,69 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method;
+
+import com.sissilab.dp.common.metrics.CreationMetrics;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.IFactory;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.InstrumentedFactory;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory.PhoneFactory;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.IProduct;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: overhead of the instrumented factory on a creation.
+ * <p>
+ * - plain: `PhoneFactory.createProduct()`
+ * - instrumented: the same factory decorated by `InstrumentedFactory`, latency sampled 1 out of `sampleInterval`
+ * (1: every creation reads the clock twice)
+ * <p>
+ * The difference with `plain` is the overhead per call; run it with several threads to check that the striped
+ * counters do not contend: `InstrumentedFactoryBenchmark 1 8`.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstrumentedFactoryBenchmark {
+
+    @Param({"1", "64"})
+    public int sampleInterval;
+
+    private final IFactory plain = new PhoneFactory();
+
+    private IFactory instrumented;
+
+    @Setup
+    public void setup() {
+        instrumented = InstrumentedFactory.of(CreationMetrics.of(sampleInterval), "Phone", new PhoneFactory());
+    }
+
+    @Benchmark
+    public IProduct plain() {
+        return plain.createProduct();
+    }
+
+    @Benchmark
+    public IProduct instrumented() {
+        return instrumented.createProduct();
+    }
+
+    /**
+     * @param args the thread counts to run, 1 by default
+     */
+    public static void main(String[] args) throws RunnerException {
+        String[] threads = args.length > 0 ? args : new String[]{"1"};
+        for (String count : threads) {
+            Options options = new OptionsBuilder()
+                    .include(InstrumentedFactoryBenchmark.class.getName() + "\\.")
+                    .threads(Integer.parseInt(count))
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.IProduct;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Laptop;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.Phone;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class DynamicFactoryTest {
+
+    /**
+     * Dynamic Factory: the configured classes are created through a lambda, cached per class
+     */
+    @Test
+    public void testLambdaConstructor() {
+        Map<String, String> config = new LinkedHashMap<>();
+        config.put("phone", Phone.class.getName());
+        config.put("laptop", Laptop.class.getName());
+        Map<String, IFactory> factories = DynamicFactory.of(config, getClass().getClassLoader());
+
+        Assertions.assertTrue(factories.get("phone").createProduct() instanceof Phone); // √
+        Assertions.assertTrue(factories.get("laptop").createProduct() instanceof Laptop);
+        Assertions.assertNotSame(factories.get("phone").createProduct(), factories.get("phone").createProduct());
+        Assertions.assertSame(DynamicFactory.constructor(Phone.class), DynamicFactory.constructor(Phone.class)); // √
+        // a lambda, not the method handle fallback
+        Assertions.assertFalse(DynamicFactory.constructor(Phone.class) instanceof DynamicFactory.MethodHandleConstructor); // √
+    }
+
+    /**
+     * Dynamic Factory: a class of a plugin class loader falls back to the constructor method handle
+     */
+    @Test
+    public void testPluginClassLoader() {
+        ClassLoader plugin = new PluginClassLoader(Phone.class.getName(), getClass().getClassLoader());
+
+        IProduct phone = DynamicFactory.of(Phone.class.getName(), plugin).createProduct();
+        Assertions.assertEquals(Phone.class.getName(), phone.getClass().getName());
+        Assertions.assertSame(plugin, phone.getClass().getClassLoader()); // √
+        Assertions.assertTrue(DynamicFactory.constructor(phone.getClass()) instanceof DynamicFactory.MethodHandleConstructor); // √
+    }
+
+    /**
+     * Dynamic Factory: the classes which are not products, or without a public no-arg constructor, are rejected
+     */
+    @Test
+    public void testInvalidClasses() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DynamicFactory.of("com.sissilab.dp.NoSuchProduct")); // √
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DynamicFactory.of(String.class.getName())); // √
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DynamicFactory.of(PrivateProduct.class)); // √
+    }
+
+    private static class PrivateProduct implements IProduct {
+        @Override
+        public void desc() {
+        }
+    }
+
+    // loads a single class itself, delegates the others (IProduct...) to its parent
+    private static class PluginClassLoader extends ClassLoader {
+        private final String className;
+
+        PluginClassLoader(String className, ClassLoader parent) {
+            super(parent);
+            this.className = className;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!className.equals(name)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (null != loaded) {
+                    return loaded;
+                }
+                try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[4096];
+                    for (int n; (n = in.read(buffer)) > 0; ) {
+                        bytes.write(buffer, 0, n);
+                    }
+                    return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+}
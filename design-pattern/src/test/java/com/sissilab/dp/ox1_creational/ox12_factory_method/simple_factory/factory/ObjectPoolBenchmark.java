@@ -0,0 +1,67 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.factory;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.product.IProduct;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: pooled creation (`SimpleFactory.borrowProduct()` / `releaseProduct()`) vs plain `new`.
+ * <p>
+ * Run with the GC profiler: compare `gc.alloc.rate.norm` (bytes allocated per operation) and `gc.count`.
+ * - newProduct / pooledProduct: the products of SimpleFactory, which are tiny
+ * - newBuffer / pooledBuffer: a product holding an 8 KiB buffer, where pooling pays off
+ * <p>
+ * Usage: `main [threads]`, default: available processors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjectPoolBenchmark {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final ObjectPool<byte[]> bufferPool = ObjectPool.of(() -> new byte[BUFFER_SIZE], 256, buffer -> true);
+
+    @Benchmark
+    public void newProduct(Blackhole blackhole) {
+        blackhole.consume(SimpleFactory.createProduct(SimpleFactory.PRODUCT_TYPE.PHONE));
+    }
+
+    @Benchmark
+    public void pooledProduct(Blackhole blackhole) {
+        IProduct product = SimpleFactory.borrowProduct(SimpleFactory.PRODUCT_TYPE.PHONE);
+        blackhole.consume(product);
+        SimpleFactory.releaseProduct(product);
+    }
+
+    @Benchmark
+    public void newBuffer(Blackhole blackhole) {
+        blackhole.consume(new byte[BUFFER_SIZE]);
+    }
+
+    @Benchmark
+    public void pooledBuffer(Blackhole blackhole) {
+        byte[] buffer = bufferPool.borrow();
+        blackhole.consume(buffer);
+        bufferPool.release(buffer);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ObjectPoolBenchmark.class.getName() + "\\.")
+                .threads(args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,123 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.factory;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.product.IProduct;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ObjectPoolTest {
+
+    /**
+     * Object Pool: a released product is reused by the next borrower, an invalid one is discarded
+     */
+    @Test
+    public void testReuseAndValidation() {
+        IProduct phone = SimpleFactory.borrowProduct(SimpleFactory.PRODUCT_TYPE.PHONE);
+        SimpleFactory.releaseProduct(phone);
+        Assertions.assertSame(phone, SimpleFactory.borrowProduct(SimpleFactory.PRODUCT_TYPE.PHONE)); // √
+
+        ObjectPool<StringBuilder> pool = ObjectPool.of(StringBuilder::new, 8, builder -> builder.length() == 0);
+        StringBuilder dirty = pool.borrow();
+        dirty.append("not reset");
+        pool.release(dirty);
+        Assertions.assertNotSame(dirty, pool.borrow()); // √
+        Assertions.assertEquals(1, pool.stats().getDiscarded());
+    }
+
+    /**
+     * Object Pool: with double release detection, releasing an object still idle in the pool fails
+     */
+    @Test
+    public void testDoubleRelease() {
+        ObjectPool<StringBuilder> pool = ObjectPool.of(StringBuilder::new, 8, builder -> true).detectDoubleRelease(true);
+        StringBuilder builder = pool.borrow();
+        pool.release(builder);
+        Assertions.assertThrows(IllegalStateException.class, () -> pool.release(builder)); // √ in the thread cache
+        Assertions.assertEquals(1, pool.stats().getReleases());
+
+        Assertions.assertSame(builder, pool.borrow());
+        Assertions.assertNotSame(builder, pool.borrow()); // √ not handed out twice
+        pool.release(builder); // borrowed again: a legitimate release
+
+        // thread cache full: the next released objects go to the shared pool
+        ObjectPool<Object> shared = ObjectPool.of(Object::new, 8, object -> true).detectDoubleRelease(true);
+        Object[] objects = new Object[ObjectPool.THREAD_CACHE_SIZE + 1];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = shared.borrow();
+        }
+        for (Object object : objects) {
+            shared.release(object);
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> shared.release(objects[objects.length - 1])); // √ in the slots
+    }
+
+    /**
+     * Object Pool: the pool of a product type discards a product of another type
+     */
+    @Test
+    public void testProductTypeValidation() {
+        ObjectPool<IProduct> phones = SimpleFactory.pool(SimpleFactory.PRODUCT_TYPE.PHONE);
+        long discarded = phones.stats().getDiscarded();
+        IProduct laptop = SimpleFactory.createProduct(SimpleFactory.PRODUCT_TYPE.LAPTOP);
+        phones.release(laptop);
+
+        Assertions.assertEquals(discarded + 1, phones.stats().getDiscarded()); // √
+        Assertions.assertNotSame(laptop, phones.borrow());
+    }
+
+    /**
+     * Object Pool: an object is never handed to two borrowers at the same time
+     */
+    @Test
+    public void testExclusiveBorrowMultiThread() throws InterruptedException {
+        final int THREAD_COUNT = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        ObjectPool<Object> pool = ObjectPool.of(Object::new, 4, object -> true);
+        Set<Object> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executorService.submit(() -> {
+                startLatch.await();
+                for (int j = 0; j < 10_000; j++) {
+                    Object object = pool.borrow();
+                    if (!inUse.add(object)) {
+                        conflicts.incrementAndGet();
+                    }
+                    inUse.remove(object);
+                    pool.release(object);
+                }
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        Assertions.assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(0, conflicts.get()); // √
+        // objects are reused: far fewer creations than borrows
+        Assertions.assertTrue(pool.stats().getCreations() < THREAD_COUNT * 10_000 / 100); // √
+    }
+
+    /**
+     * Object Pool: a sampled object garbage collected without being released is reported as a leak
+     */
+    @Test
+    public void testLeakDetection() throws InterruptedException {
+        ObjectPool<Object> pool = ObjectPool.of(Object::new, 8, object -> true).detectLeaks(1);
+        pool.release(pool.borrow());
+        pool.borrow(); // never released
+
+        for (int i = 0; i < 50 && pool.stats().getLeaks() == 0; i++) {
+            System.gc();
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        Assertions.assertEquals(1, pool.stats().getLeaks()); // √
+    }
+}
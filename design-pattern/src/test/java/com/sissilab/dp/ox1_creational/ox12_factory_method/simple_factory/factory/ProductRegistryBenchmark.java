@@ -0,0 +1,91 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.factory;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.product.IProduct;
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.product.Phone;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * JMH benchmark: dispatch cost of `ProductRegistry` as the number of product types grows.
+ * <p>
+ * - registryByEnum: built-in types, `EnumMap`
+ * - registryByName: built-in + discovered types, `HashMap`: flat whatever `typeCount` is
+ * - ifElseChain: the dispatch of a hand-written chain of comparisons, for reference: grows with `typeCount`
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProductRegistryBenchmark {
+
+    @Param({"3", "100", "1000"})
+    public int typeCount;
+
+    private ProductRegistry registry;
+
+    private String[] names;
+
+    private Supplier<IProduct>[] suppliers;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Map<String, Supplier<IProduct>> extensions = new LinkedHashMap<>();
+        for (int i = SimpleFactory.PRODUCT_TYPE.values().length; i < typeCount; i++) {
+            extensions.put("TYPE_" + i, Phone::new);
+        }
+        registry = new ProductRegistry(extensions);
+        names = registry.types().toArray(new String[0]);
+        suppliers = new Supplier[names.length];
+        for (int i = 0; i < names.length; i++) {
+            suppliers[i] = Phone::new;
+        }
+    }
+
+    @Benchmark
+    public IProduct registryByEnum() {
+        SimpleFactory.PRODUCT_TYPE[] types = SimpleFactory.PRODUCT_TYPE.values();
+        return registry.create(types[nextIndex(types.length)]);
+    }
+
+    @Benchmark
+    public IProduct registryByName() {
+        return registry.create(names[nextIndex(names.length)]);
+    }
+
+    @Benchmark
+    public IProduct ifElseChain() {
+        String name = names[nextIndex(names.length)];
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return suppliers[i].get();
+            }
+        }
+        return null;
+    }
+
+    // every type in turn, so that the average covers the whole chain
+    private int nextIndex(int length) {
+        int index = next % length;
+        next = index + 1;
+        return index;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ProductRegistryBenchmark.class.getName() + "\\.")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,34 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.factory;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.product.Phone;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+public class ProductRegistryTest {
+
+    /**
+     * Product Registry: built-in product types and the types discovered via ServiceLoader
+     */
+    @Test
+    public void testBuiltInAndDiscoveredTypes() {
+        Assertions.assertTrue(SimpleFactory.createProduct(SimpleFactory.PRODUCT_TYPE.PHONE) instanceof Phone); // √
+        Assertions.assertTrue(SimpleFactory.createProduct("PHONE") instanceof Phone); // √
+        Assertions.assertTrue(SimpleFactory.createProduct("TABLET") instanceof TabletProvider.Tablet); // √
+        Assertions.assertNull(SimpleFactory.createProduct((SimpleFactory.PRODUCT_TYPE) null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SimpleFactory.createProduct("WATCH")); // √
+    }
+
+    /**
+     * Product Registry: the class of each built-in type is known without creating a product
+     */
+    @Test
+    public void testBuiltInProductClasses() {
+        ProductRegistry registry = new ProductRegistry(Collections.emptyMap());
+        for (SimpleFactory.PRODUCT_TYPE productType : SimpleFactory.PRODUCT_TYPE.values()) {
+            Assertions.assertSame(registry.create(productType).getClass(), registry.productClass(productType)); // √
+        }
+        Assertions.assertSame(Phone.class, registry.productClass(SimpleFactory.PRODUCT_TYPE.PHONE));
+    }
+}
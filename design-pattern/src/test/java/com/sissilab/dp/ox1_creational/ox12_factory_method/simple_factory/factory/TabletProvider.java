@@ -0,0 +1,26 @@
+package com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.factory;
+
+import com.sissilab.dp.ox1_creational.ox12_factory_method.simple_factory.product.IProduct;
+
+/**
+ * A product added without recompiling `SimpleFactory`: registered in META-INF/services (src/test/resources).
+ */
+public class TabletProvider implements ProductProvider {
+
+    @Override
+    public String type() {
+        return "TABLET";
+    }
+
+    @Override
+    public IProduct create() {
+        return new Tablet();
+    }
+
+    static class Tablet implements IProduct {
+        @Override
+        public void desc() {
+            System.out.println("I am a tablet.");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.sissilab.dp.ox1_creational.ox13_abstract_factory;
+
+import com.sissilab.dp.common.log.EventLog;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.AppleFactory;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.FlyweightFactory;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory.IFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark: a family of products from the plain factory vs the flyweight factory.
+ * <p>
+ * - plain: `AppleFactory`, a new phone, laptop and earphone per call
+ * - flyweight: `FlyweightFactory.of(new AppleFactory())`, the canonical instances
+ * <p>
+ * Run with the GC profiler: `gc.alloc.rate.norm` is the allocation per operation, the saving of the flyweight mode.
+ * The event log is disabled, to measure the creation only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlyweightFactoryBenchmark {
+
+    private IFactory plain;
+
+    private IFactory flyweight;
+
+    @Setup
+    public void setup() {
+        EventLog.setEnabled(false);
+        plain = new AppleFactory();
+        flyweight = FlyweightFactory.of(new AppleFactory());
+    }
+
+    @Benchmark
+    public void plain(Blackhole blackhole) {
+        blackhole.consume(plain.makePhone());
+        blackhole.consume(plain.makeLaptop());
+        blackhole.consume(plain.makeEarphone());
+    }
+
+    @Benchmark
+    public void flyweight(Blackhole blackhole) {
+        blackhole.consume(flyweight.makePhone());
+        blackhole.consume(flyweight.makeLaptop());
+        blackhole.consume(flyweight.makeEarphone());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FlyweightFactoryBenchmark.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
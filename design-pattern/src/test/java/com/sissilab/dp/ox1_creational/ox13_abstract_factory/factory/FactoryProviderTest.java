@@ -0,0 +1,50 @@
+package com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class FactoryProviderTest {
+
+    /**
+     * Factory Provider: every thread gets the same factory instance of a family
+     */
+    @Test
+    public void testSharedInstanceMultiThread() throws InterruptedException {
+        final int THREAD_COUNT = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        Set<Object> factories = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        CountDownLatch startLatch = new CountDownLatch(1);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executorService.submit(() -> {
+                startLatch.await();
+                factories.add(FactoryProvider.family("Huawei"));
+                return null;
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        Assertions.assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(1, factories.size()); // √
+        Assertions.assertTrue(factories.contains(FactoryProvider.huawei()));
+        Assertions.assertTrue(FactoryProvider.huawei() instanceof HuaweiFactory);
+    }
+
+    /**
+     * Factory Provider: unknown families rejected
+     */
+    @Test
+    public void testUnknownFamily() {
+        Assertions.assertTrue(FactoryProvider.family("Apple") instanceof AppleFactory);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FactoryProvider.family("Xiaomi")); // √
+    }
+}
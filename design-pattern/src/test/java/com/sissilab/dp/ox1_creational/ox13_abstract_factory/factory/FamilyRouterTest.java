@@ -0,0 +1,135 @@
+package com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory;
+
+import com.sissilab.dp.common.log.EventLog;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.ApplePhone;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.HuaweiLaptop;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.HuaweiPhone;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.IProduct;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FamilyRouterTest {
+
+    /**
+     * Family Router: a valid configuration is swapped in, an invalid one is rejected and the current routing kept
+     */
+    @Test
+    public void testReload() throws IOException {
+        Path dir = Files.createTempDirectory("family-router");
+        Path config = dir.resolve("families.properties");
+        write(config, "default=Huawei\nus=Apple\n");
+        FamilyRouter router = FamilyRouter.of(config);
+
+        Assertions.assertTrue(router.forRegion("us").makePhone() instanceof ApplePhone); // √
+        Assertions.assertTrue(router.forRegion("cn").makePhone() instanceof HuaweiPhone); // √
+        Assertions.assertTrue(router.makeLaptop() instanceof HuaweiLaptop);
+
+        write(config, "default=Huawei\nus=Xiaomi\n");
+        Assertions.assertFalse(router.reload()); // √
+        Assertions.assertEquals("Apple", router.families().get("us"));
+
+        write(config, "us=Huawei\ndefault=Huawei\ncn=Apple\n");
+        Assertions.assertTrue(router.reload());
+        Assertions.assertTrue(router.forRegion("us").makePhone() instanceof HuaweiPhone); // √
+        Assertions.assertEquals(Arrays.asList("cn", "default", "us"), new ArrayList<>(router.families().keySet())); // √ sorted
+    }
+
+    /**
+     * Family Router: a file change is picked up by the watcher, the concurrent calls never fail during the switches
+     */
+    @Test
+    public void testHotReloadMultiThread() throws Exception {
+        final int THREAD_COUNT = 4;
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        EventLog.setEnabled(false);
+
+        Path dir = Files.createTempDirectory("family-router");
+        Path config = dir.resolve("families.properties");
+        write(config, "default=Huawei\n");
+        try (FamilyRouter router = FamilyRouter.of(config).watch()) {
+            IFactory factory = router.forRegion("us");
+            AtomicBoolean running = new AtomicBoolean(true);
+            AtomicInteger failures = new AtomicInteger();
+            CountDownLatch startLatch = new CountDownLatch(1);
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                executorService.submit(() -> {
+                    startLatch.await();
+                    while (running.get()) {
+                        IProduct phone = factory.makePhone();
+                        if (!(phone instanceof HuaweiPhone) && !(phone instanceof ApplePhone)) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            startLatch.countDown();
+
+            replace(dir, config, "default=Huawei\nus=Apple\n");
+            boolean switched = false;
+            for (int i = 0; i < 200 && !switched; i++) {
+                TimeUnit.MILLISECONDS.sleep(50);
+                switched = factory.makePhone() instanceof ApplePhone;
+            }
+            running.set(false);
+            executorService.shutdown();
+            Assertions.assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+            Assertions.assertTrue(switched); // √
+            Assertions.assertEquals(0, failures.get()); // √
+        } finally {
+            EventLog.setEnabled(true);
+        }
+    }
+
+    /**
+     * Family Router: the watcher keeps watching after a rejected configuration, the next valid one is applied
+     */
+    @Test
+    public void testHotReloadAfterInvalidConfig() throws Exception {
+        EventLog.setEnabled(false);
+        Path dir = Files.createTempDirectory("family-router");
+        Path config = dir.resolve("families.properties");
+        write(config, "default=Huawei\n");
+        try (FamilyRouter router = FamilyRouter.of(config).watch()) {
+            replace(dir, config, "us=Apple\n"); // no default
+            TimeUnit.MILLISECONDS.sleep(500);
+            Assertions.assertEquals("Huawei", router.families().get(FamilyRouter.DEFAULT_REGION)); // √ kept
+
+            replace(dir, config, "default=Apple\n");
+            boolean switched = false;
+            for (int i = 0; i < 200 && !switched; i++) {
+                TimeUnit.MILLISECONDS.sleep(50);
+                switched = router.makePhone() instanceof ApplePhone;
+            }
+            Assertions.assertTrue(switched); // √ still watching
+        } finally {
+            EventLog.setEnabled(true);
+        }
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // the recommended way: write a temp file, then move it over the configuration
+    private static void replace(Path dir, Path file, String content) throws IOException {
+        Path temp = Files.createTempFile(dir, "families", ".tmp");
+        write(temp, content);
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
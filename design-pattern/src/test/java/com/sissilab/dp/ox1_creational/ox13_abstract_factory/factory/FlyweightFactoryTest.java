@@ -0,0 +1,111 @@
+package com.sissilab.dp.ox1_creational.ox13_abstract_factory.factory;
+
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.AppleLaptop;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.HuaweiPhone;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.IProduct;
+import com.sissilab.dp.ox1_creational.ox13_abstract_factory.product.Shareable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FlyweightFactoryTest {
+
+    /**
+     * Flyweight Factory: a shareable product is one canonical instance per class, whichever factory made it
+     */
+    @Test
+    public void testCanonicalInstance() {
+        IFactory huaweiFactory = FlyweightFactory.of(new HuaweiFactory());
+        IProduct phone = huaweiFactory.makePhone();
+
+        Assertions.assertTrue(phone instanceof HuaweiPhone);
+        Assertions.assertSame(phone, huaweiFactory.makePhone()); // √
+        Assertions.assertSame(phone, FlyweightFactory.of(new HuaweiFactory()).makePhone()); // √
+        Assertions.assertNotSame(phone, new HuaweiFactory().makePhone());
+        Assertions.assertTrue(FlyweightFactory.of(new AppleFactory()).makeLaptop() instanceof AppleLaptop);
+    }
+
+    /**
+     * Flyweight Factory: a product not marked is made on every call, a marked product with a mutable field is rejected
+     */
+    @Test
+    public void testMutableProducts() {
+        IFactory factory = FlyweightFactory.of(new TestFactory());
+
+        Assertions.assertNotSame(factory.makePhone(), factory.makePhone()); // √
+        IllegalStateException e = Assertions.assertThrows(IllegalStateException.class, factory::makeLaptop); // √
+        Assertions.assertTrue(e.getMessage().contains("MutableLaptop.owner"), e.getMessage());
+        Assertions.assertThrows(IllegalStateException.class, () -> FlyweightFactory.isShareable(ArrayLaptop.class)); // √
+    }
+
+    /**
+     * Flyweight Factory: a marked product with a serial number per instance is rejected, its callers would share one serial
+     */
+    @Test
+    public void testProductWithSerialNumber() {
+        IllegalStateException e = Assertions.assertThrows(IllegalStateException.class,
+                () -> FlyweightFactory.isShareable(SerialPhone.class)); // √
+        Assertions.assertTrue(e.getMessage().contains("serial number"), e.getMessage());
+        Assertions.assertTrue(FlyweightFactory.isShareable(HuaweiPhone.class)); // √
+    }
+
+    private static class TestFactory implements IFactory {
+        @Override
+        public IProduct makePhone() {
+            return new StatefulPhone();
+        }
+
+        @Override
+        public IProduct makeLaptop() {
+            return new MutableLaptop();
+        }
+
+        @Override
+        public IProduct makeEarphone() {
+            return new StatefulPhone();
+        }
+    }
+
+    // not marked: always made
+    private static class StatefulPhone implements IProduct {
+        int battery = 100;
+
+        @Override
+        public void desc() {
+        }
+    }
+
+    // marked by mistake: an identity, its own serial number
+    @Shareable
+    private static class SerialPhone implements IProduct {
+        private final long serialNumber = 1;
+
+        @Override
+        public void desc() {
+        }
+
+        @Override
+        public long getSerialNumber() {
+            return serialNumber;
+        }
+    }
+
+    // marked by mistake: non-final field
+    @Shareable
+    private static class MutableLaptop implements IProduct {
+        String owner;
+
+        @Override
+        public void desc() {
+        }
+    }
+
+    // marked by mistake: final reference to a mutable array
+    @Shareable
+    private static class ArrayLaptop implements IProduct {
+        final int[] keys = new int[0];
+
+        @Override
+        public void desc() {
+        }
+    }
+}
@@ -1,8 +0,0 @@
-package com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.factory;
-
-import com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product.IProduct;
-
-// abstract factory interface
-public interface IFactory {
-    IProduct createProduct();
-}
@@ -1,10 +0,0 @@
-package com.sissilab.dp.ox1_creational.ox12_factory_method.factory_method.product;
-
-public interface IProduct {
-
-    /**
-     * product description
-     */
-    void desc();
-
-}
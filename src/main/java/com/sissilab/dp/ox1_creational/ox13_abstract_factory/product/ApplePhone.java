@@ -1,10 +0,0 @@
-package com.sissilab.dp.ox1_creational.ox13_abstract_factory.product;
-
-// Apple Concrete Phone Product
-public class ApplePhone extends AbstractPhone {
-
-    @Override
-    public void desc() {
-        System.out.println("I am Apple phone.");
-    }
-}
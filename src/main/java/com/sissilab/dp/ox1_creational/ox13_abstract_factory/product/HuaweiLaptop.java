@@ -1,10 +0,0 @@
-package com.sissilab.dp.ox1_creational.ox13_abstract_factory.product;
-
-// Huawei Concrete Laptop Product
-public class HuaweiLaptop extends AbstractLaptop {
-
-    @Override
-    public void desc() {
-        System.out.println("I am Huawei laptop.");
-    }
-}
@@ -1,10 +0,0 @@
-package com.sissilab.dp.ox1_creational.ox13_abstract_factory.product;
-
-// Huawei Concrete Earphone Product
-public class HuaweiPhone extends AbstractPhone {
-
-    @Override
-    public void desc() {
-        System.out.println("I am Huawei phone.");
-    }
-}
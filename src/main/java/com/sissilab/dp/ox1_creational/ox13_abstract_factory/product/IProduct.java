@@ -1,9 +0,0 @@
-package com.sissilab.dp.ox1_creational.ox13_abstract_factory.product;
-
-// Abstract Product
-public interface IProduct {
-    /**
-     * Product description
-     */
-    void desc();
-}